@@ -0,0 +1,102 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Points of a fuzzy set sorted by membership in descending order, ties in ascending key order.
+ * <p>
+ * Every alpha cut is a prefix of this order, so it's found by a binary search
+ * and copied into a primitive array in O(log n + k).
+ *
+ * @author Evgeny Mironenko
+ */
+final class AlphaIndex {
+
+    /**
+     * Keys sorted by membership in descending order.
+     */
+    private final double[] x;
+    /**
+     * Membership values in descending order, aligned with {@link #x}.
+     */
+    private final double[] mu;
+
+    private AlphaIndex(double[] x, double[] mu) {
+        this.x = x;
+        this.mu = mu;
+    }
+
+    /**
+     * Builds an index over the specified points.
+     *
+     * @param x  keys in ascending order.
+     * @param mu membership values aligned with the keys.
+     * @return see description.
+     */
+    static AlphaIndex of(double[] x, double[] mu) {
+        int n = mu.length;
+        double[] ascending = mu.clone();
+        Arrays.sort(ascending);
+        double[] levelX = new double[n];
+        double[] levelMu = new double[n];
+        // Every distinct value owns a run in the descending order that starts after all greater values.
+        // Points are placed into their runs in key order, so ties stay sorted by key.
+        int[] filled = new int[n];
+        for (int i = 0; i < n; i++) {
+            int start = n - upperBound(ascending, mu[i]);
+            int position = start + filled[start]++;
+            levelX[position] = x[i];
+            levelMu[position] = mu[i];
+        }
+        return new AlphaIndex(levelX, levelMu);
+    }
+
+    /**
+     * Returns a number of values in the ascending array which are less than or equal to the specified one.
+     */
+    private static int upperBound(double[] ascending, double value) {
+        int low = 0;
+        int high = ascending.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(ascending[middle], value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns a number of points in the alpha cut.
+     *
+     * @param alpha  a number between 0 and 1.
+     * @param strict true for a strict alpha cut.
+     * @return see description.
+     */
+    int size(double alpha, boolean strict) {
+        int low = 0;
+        int high = mu.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (strict ? mu[middle] > alpha : mu[middle] >= alpha) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns keys of the alpha cut in descending order of membership, ties in ascending key order.
+     *
+     * @param alpha  a number between 0 and 1.
+     * @param strict true for a strict alpha cut.
+     * @return see description.
+     */
+    double[] cut(double alpha, boolean strict) {
+        return Arrays.copyOf(x, size(alpha, strict));
+    }
+}
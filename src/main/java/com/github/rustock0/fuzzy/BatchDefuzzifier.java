@@ -0,0 +1,131 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Defuzzifies many fuzzy sets at once.
+ * <p>
+ * All requested methods are calculated together in a single traversal of every set and the results
+ * are written into a caller-supplied array: the result of the m-th method for the i-th set
+ * is stored at index {@code i * methods.length + m}. Large batches are processed in parallel.
+ * Every result equals the one of the corresponding {@code getDefuzzification*} method of {@link FuzzySet}.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class BatchDefuzzifier {
+
+    /**
+     * A minimum number of sets in a batch to process it in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * Supported defuzzification methods.
+     */
+    public enum Method {
+        /**
+         * Center of Gravity, see {@link FuzzySet#getDefuzzificationCOG()}.
+         */
+        COG,
+        /**
+         * Mean of Maximums, see {@link FuzzySet#getDefuzzificationMOM()}.
+         */
+        MOM,
+        /**
+         * Left of Maximum, see {@link FuzzySet#getDefuzzificationLOM()}.
+         */
+        LOM,
+        /**
+         * Right of Maximum, see {@link FuzzySet#getDefuzzificationROM()}.
+         */
+        ROM
+    }
+
+    private final Method[] methods;
+
+    public BatchDefuzzifier(Method... methods) {
+        if (methods.length == 0) {
+            throw new IllegalArgumentException("No defuzzification methods");
+        }
+        this.methods = methods.clone();
+    }
+
+    /**
+     * Defuzzifies the specified sets.
+     *
+     * @param sets   fuzzy sets.
+     * @param result destination array of at least {@code sets.size() * methods.length} elements.
+     */
+    public void defuzzify(List<? extends FuzzySet> sets, double[] result) {
+        if (result.length < sets.size() * methods.length) {
+            throw new IllegalArgumentException("Result array is too small: " + result.length + " for "
+                + sets.size() + " sets and " + methods.length + " methods");
+        }
+        IntStream indexes = IntStream.range(0, sets.size());
+        if (sets.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> defuzzify(sets.get(i), result, i * methods.length));
+    }
+
+    /**
+     * Defuzzifies the specified set in a single traversal.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @param result   destination array.
+     * @param offset   an index of the first result.
+     */
+    private void defuzzify(FuzzySet fuzzySet, double[] result, int offset) {
+        double[] x = fuzzySet.x;
+        double[] mu = fuzzySet.mu;
+        double weightedSum = 0;
+        double sum = 0;
+        double maxMu = 0;
+        double maxSum = 0;
+        double maxLength = 0;
+        double left = Double.MAX_VALUE;
+        double right = Double.MIN_VALUE;
+        for (int i = 0; i < x.length; i++) {
+            int k = fuzzySet.at(i);
+            double key = x[k];
+            double value = mu[k];
+            weightedSum += key * value;
+            sum += value;
+            if (value >= maxMu) {
+                if (key < left) {
+                    left = key;
+                }
+                if (key > right) {
+                    right = key;
+                }
+            }
+            if (value > maxMu) {
+                maxMu = value;
+                maxSum = key;
+                maxLength = 1;
+            } else if (value == maxMu) {
+                maxSum += key;
+                maxLength++;
+            }
+        }
+        for (int m = 0; m < methods.length; m++) {
+            switch (methods[m]) {
+                case COG:
+                    result[offset + m] = weightedSum / sum;
+                    break;
+                case MOM:
+                    result[offset + m] = maxSum / maxLength;
+                    break;
+                case LOM:
+                    result[offset + m] = left;
+                    break;
+                case ROM:
+                    result[offset + m] = right;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown method: " + methods[m]);
+            }
+        }
+    }
+}
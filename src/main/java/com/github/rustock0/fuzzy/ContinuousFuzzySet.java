@@ -0,0 +1,146 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Continuous fuzzy set backed by a {@link MembershipFunction}.
+ * <p>
+ * Nothing is sampled: membership, height, core, support, alpha cuts, cardinality and defuzzification
+ * are answered by the closed forms of the function, so they're exact and take constant time and memory.
+ * Operations between sets are left to {@link FuzzySet}, a set of samples is created by
+ * {@link #discretize(Universe)}.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class ContinuousFuzzySet {
+
+    private final MembershipFunction function;
+
+    /**
+     * Creates a set of the specified function.
+     *
+     * @param function a membership function.
+     */
+    public ContinuousFuzzySet(MembershipFunction function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Membership function is null");
+        }
+        this.function = function;
+    }
+
+    /**
+     * Returns the membership function of the set.
+     *
+     * @return see description.
+     */
+    public MembershipFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Returns a membership value of the specified key.
+     *
+     * @param key a key.
+     * @return see description.
+     */
+    public double getMembership(double key) {
+        return function.apply(key);
+    }
+
+    /**
+     * Returns a height of the set.
+     *
+     * @return see description.
+     */
+    public double getHeight() {
+        return function.getHeight();
+    }
+
+    /**
+     * Returns bounds of the core: {left, right}, or an empty array if the core is empty.
+     *
+     * @return see description.
+     */
+    public double[] getCore() {
+        double left = function.getCoreLeft();
+        return Double.isNaN(left) ? new double[0] : new double[]{left, function.getCoreRight()};
+    }
+
+    /**
+     * Returns bounds of the support: {left, right}, a bound may be infinite.
+     *
+     * @return see description.
+     */
+    public double[] getSupport() {
+        return new double[]{function.getSupportLeft(), function.getSupportRight()};
+    }
+
+    /**
+     * Returns bounds of the alpha cut: {left, right}, a bound may be infinite,
+     * or an empty array if no key reaches alpha.
+     *
+     * @param alpha a number greater than 0 and at most 1.
+     * @return see description.
+     */
+    public double[] getAlphaCut(double alpha) {
+        return function.getAlphaCut(alpha);
+    }
+
+    /**
+     * Returns a cardinality (the area under the function) of the set, may be positive infinity.
+     *
+     * @return see description.
+     */
+    public double getCardinality() {
+        return function.getArea();
+    }
+
+    /**
+     * Returns a center of gravity of the set, or NaN if the cardinality is infinite.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationCOG() {
+        return function.getCentroid();
+    }
+
+    /**
+     * Returns a left bound of the core, or NaN if the core is empty.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationLOM() {
+        return function.getCoreLeft();
+    }
+
+    /**
+     * Returns a right bound of the core, or NaN if the core is empty.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationROM() {
+        return function.getCoreRight();
+    }
+
+    /**
+     * Returns a middle of the core, or NaN if the core is empty.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationMOM() {
+        return (function.getCoreLeft() + function.getCoreRight()) / 2;
+    }
+
+    /**
+     * Samples the set at the keys of the specified universe.
+     *
+     * @param universe a universe.
+     * @return see description.
+     */
+    public FuzzySet discretize(Universe universe) {
+        return function.discretize(universe);
+    }
+
+    @Override
+    public String toString() {
+        return function.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Crisp (ordinary) subset of the universe of a fuzzy set, stored as a bitset.
+ * <p>
+ * Bit i tells whether the i-th key of the universe in ascending order belongs to the set, 64 keys per
+ * {@code long} word. Cardinality uses popcount and the set algebra works on whole words. Sets combined together
+ * must share one universe: sets built from fuzzy sets over one key array are combined without checking the keys.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class CrispSet {
+
+    private final double[] x;
+    private final long[] words;
+
+    /**
+     * Creates a set over the specified keys.
+     *
+     * @param x     keys of the universe in ascending order, shared, not copied.
+     * @param words bits of the set, bits beyond the universe are clear.
+     */
+    CrispSet(double[] x, long[] words) {
+        this.x = x;
+        this.words = words;
+    }
+
+    /**
+     * Returns a set of the keys whose membership values are at least (or above) the specified threshold.
+     *
+     * @param x         keys of the universe in ascending order.
+     * @param mu        membership values aligned with the keys.
+     * @param threshold a threshold.
+     * @param strict    true if membership values must be above the threshold.
+     * @return see description.
+     */
+    static CrispSet of(double[] x, double[] mu, double threshold, boolean strict) {
+        long[] words = new long[wordCount(x.length)];
+        for (int w = 0; w < words.length; w++) {
+            int from = w << 6;
+            int to = Math.min(from + 64, mu.length);
+            long word = 0;
+            for (int i = from; i < to; i++) {
+                boolean member = strict ? mu[i] > threshold : mu[i] >= threshold;
+                word |= (member ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return new CrispSet(x, words);
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Returns a number of keys in the universe.
+     *
+     * @return see description.
+     */
+    public int getUniverseSize() {
+        return x.length;
+    }
+
+    /**
+     * Returns a number of keys in the set.
+     *
+     * @return see description.
+     */
+    public int cardinality() {
+        int result = 0;
+        for (long word : words) {
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the set contains the key with the specified position in the universe.
+     *
+     * @param i a position of the key in ascending order.
+     * @return see description.
+     */
+    public boolean contains(int i) {
+        if (i < 0 || i >= x.length) {
+            throw new IndexOutOfBoundsException("Invalid position: " + i + ", universe size: " + x.length);
+        }
+        return (words[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Returns true if the set contains the specified key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public boolean contains(double key) {
+        int i = Arrays.binarySearch(x, key);
+        return i >= 0 && contains(i);
+    }
+
+    /**
+     * Returns a position of the first key of the set at or after the specified position, or -1 if there is none.
+     *
+     * @param from a position in the universe.
+     * @return see description.
+     */
+    public int nextSetBit(int from) {
+        if (from >= x.length) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    /**
+     * Returns keys of the set in ascending order.
+     *
+     * @return see description.
+     */
+    public double[] getKeys() {
+        double[] result = new double[cardinality()];
+        for (int i = nextSetBit(0), k = 0; i >= 0; i = nextSetBit(i + 1)) {
+            result[k++] = x[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns an intersection of the current and specified sets.
+     *
+     * @param anotherSet an another crisp set over the same universe.
+     * @return see description.
+     */
+    public CrispSet and(CrispSet anotherSet) {
+        checkUniverse(anotherSet);
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] & anotherSet.words[i];
+        }
+        return new CrispSet(x, result);
+    }
+
+    /**
+     * Returns an union of the current and specified sets.
+     *
+     * @param anotherSet an another crisp set over the same universe.
+     * @return see description.
+     */
+    public CrispSet or(CrispSet anotherSet) {
+        checkUniverse(anotherSet);
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] | anotherSet.words[i];
+        }
+        return new CrispSet(x, result);
+    }
+
+    /**
+     * Returns a symmetric difference of the current and specified sets.
+     *
+     * @param anotherSet an another crisp set over the same universe.
+     * @return see description.
+     */
+    public CrispSet xor(CrispSet anotherSet) {
+        checkUniverse(anotherSet);
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = words[i] ^ anotherSet.words[i];
+        }
+        return new CrispSet(x, result);
+    }
+
+    /**
+     * Returns a complement of the current set within its universe.
+     *
+     * @return see description.
+     */
+    public CrispSet not() {
+        long[] result = new long[words.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~words[i];
+        }
+        int tail = x.length & 63;
+        if (tail != 0) {
+            result[result.length - 1] &= (1L << tail) - 1;
+        }
+        return new CrispSet(x, result);
+    }
+
+    /**
+     * Returns a fuzzy set over the universe with membership 1 for the keys of the current set and 0 for the others.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        double[] mu = new double[x.length];
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            mu[i] = 1.0;
+        }
+        return new FuzzySet(x, mu, null);
+    }
+
+    private void checkUniverse(CrispSet anotherSet) {
+        if (x != anotherSet.x && !Arrays.equals(x, anotherSet.x)) {
+            throw new IllegalArgumentException("Crisp sets have different universes");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CrispSet that = (CrispSet) o;
+
+        return Arrays.equals(words, that.words) && (x == that.x || Arrays.equals(x, that.x));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "CrispSet{" +
+            "keys=" + Arrays.toString(getKeys()) +
+            '}';
+    }
+}
@@ -0,0 +1,540 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lazy expression over fuzzy sets.
+ * <p>
+ * Operations only record a tree, nothing is calculated until {@link #evaluate()}.
+ * Evaluation joins the keys of all operand sets once and then computes the whole tree
+ * for every key in a single pass, without intermediate fuzzy sets. Like the binary
+ * operations of {@link FuzzySet}, the result contains only keys common to all operands.
+ * <p>
+ * Example: {@code FuzzyExpr.of(a).deductAlg(b).unionAlg(FuzzyExpr.of(b).deductAlg(a)).evaluate()}.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class FuzzyExpr {
+
+    private final Node node;
+
+    private FuzzyExpr(Node node) {
+        this.node = node;
+    }
+
+    /**
+     * Returns an expression consisting of the specified fuzzy set.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public static FuzzyExpr of(FuzzySet fuzzySet) {
+        return new FuzzyExpr(new SetLeaf(fuzzySet));
+    }
+
+    /**
+     * Returns an union of the current and specified expressions using the specified t-conorm.
+     *
+     * @param another an another expression.
+     * @param conorm  a t-conorm.
+     * @return see description.
+     */
+    public FuzzyExpr union(FuzzyExpr another, TConorm conorm) {
+        return new FuzzyExpr(new ConormNode(node, another.node, conorm));
+    }
+
+    /**
+     * Returns an union of the current expression and specified fuzzy set using the specified t-conorm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param conorm     a t-conorm.
+     * @return see description.
+     */
+    public FuzzyExpr union(FuzzySet anotherSet, TConorm conorm) {
+        return union(of(anotherSet), conorm);
+    }
+
+    /**
+     * Returns an intersection of the current and specified expressions using the specified t-norm.
+     *
+     * @param another an another expression.
+     * @param norm    a t-norm.
+     * @return see description.
+     */
+    public FuzzyExpr intersection(FuzzyExpr another, TNorm norm) {
+        return new FuzzyExpr(new NormNode(node, another.node, norm));
+    }
+
+    /**
+     * Returns an intersection of the current expression and specified fuzzy set using the specified t-norm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm.
+     * @return see description.
+     */
+    public FuzzyExpr intersection(FuzzySet anotherSet, TNorm norm) {
+        return intersection(of(anotherSet), norm);
+    }
+
+    /**
+     * Deducts the specified expression from the current one, i.e. intersects the current expression
+     * with the addition of another one using the specified t-norm.
+     *
+     * @param another an another expression.
+     * @param norm    a t-norm.
+     * @return see description.
+     */
+    public FuzzyExpr deduct(FuzzyExpr another, TNorm norm) {
+        return intersection(another.addition(), norm);
+    }
+
+    /**
+     * Deducts the specified fuzzy set from the current expression using the specified t-norm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm.
+     * @return see description.
+     */
+    public FuzzyExpr deduct(FuzzySet anotherSet, TNorm norm) {
+        return deduct(of(anotherSet), norm);
+    }
+
+    /**
+     * Returns an union implementing Maximin algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr unionMax(FuzzyExpr another) {
+        return union(another, TConorm.maximum());
+    }
+
+    /**
+     * Returns an union implementing Maximin algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr unionMax(FuzzySet anotherSet) {
+        return union(anotherSet, TConorm.maximum());
+    }
+
+    /**
+     * Returns an intersection implementing Maximin algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionMax(FuzzyExpr another) {
+        return intersection(another, TNorm.minimum());
+    }
+
+    /**
+     * Returns an intersection implementing Maximin algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionMax(FuzzySet anotherSet) {
+        return intersection(anotherSet, TNorm.minimum());
+    }
+
+    /**
+     * Returns a deduction implementing Maximin algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr deductMax(FuzzyExpr another) {
+        return deduct(another, TNorm.minimum());
+    }
+
+    /**
+     * Returns a deduction implementing Maximin algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr deductMax(FuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.minimum());
+    }
+
+    /**
+     * Returns an union implementing algebraic algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr unionAlg(FuzzyExpr another) {
+        return union(another, TConorm.probabilisticSum());
+    }
+
+    /**
+     * Returns an union implementing algebraic algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr unionAlg(FuzzySet anotherSet) {
+        return union(anotherSet, TConorm.probabilisticSum());
+    }
+
+    /**
+     * Returns an intersection implementing algebraic algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionAlg(FuzzyExpr another) {
+        return intersection(another, TNorm.product());
+    }
+
+    /**
+     * Returns an intersection implementing algebraic algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionAlg(FuzzySet anotherSet) {
+        return intersection(anotherSet, TNorm.product());
+    }
+
+    /**
+     * Returns a deduction implementing algebraic algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr deductAlg(FuzzyExpr another) {
+        return deduct(another, TNorm.product());
+    }
+
+    /**
+     * Returns a deduction implementing algebraic algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr deductAlg(FuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.product());
+    }
+
+    /**
+     * Returns an union implementing limited algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr unionLim(FuzzyExpr another) {
+        return union(another, TConorm.lukasiewicz());
+    }
+
+    /**
+     * Returns an union implementing limited algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr unionLim(FuzzySet anotherSet) {
+        return union(anotherSet, TConorm.lukasiewicz());
+    }
+
+    /**
+     * Returns an intersection implementing limited algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionLim(FuzzyExpr another) {
+        return intersection(another, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns an intersection implementing limited algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr intersectionLim(FuzzySet anotherSet) {
+        return intersection(anotherSet, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns a deduction implementing limited algorithm.
+     *
+     * @param another an another expression.
+     * @return see description.
+     */
+    public FuzzyExpr deductLim(FuzzyExpr another) {
+        return deduct(another, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns a deduction implementing limited algorithm.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public FuzzyExpr deductLim(FuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns an addition (1 - mu) of the current expression.
+     *
+     * @return see description.
+     */
+    public FuzzyExpr addition() {
+        return new FuzzyExpr(new Addition(node));
+    }
+
+    /**
+     * Returns a concentration (mu^2) of the current expression.
+     *
+     * @return see description.
+     */
+    public FuzzyExpr concentration() {
+        return new FuzzyExpr(new Concentration(node));
+    }
+
+    /**
+     * Returns a stretching (sqrt(mu)) of the current expression.
+     *
+     * @return see description.
+     */
+    public FuzzyExpr stretching() {
+        return new FuzzyExpr(new Stretching(node));
+    }
+
+    /**
+     * Evaluates the expression in a single pass over the keys common to all operand sets.
+     * Membership values are read from the operands at the moment of evaluation.
+     *
+     * @return a lazy fuzzy set.
+     */
+    public FuzzySet evaluate() {
+        List<FuzzySet> sets = new ArrayList<>();
+        node.collect(sets);
+        double[] keys = sets.get(0).x;
+        for (int i = 1; i < sets.size(); i++) {
+            keys = SortedJoin.of(keys, sets.get(i).x).x;
+        }
+        Map<FuzzySet, double[]> aligned = new IdentityHashMap<>();
+        for (FuzzySet fuzzySet : sets) {
+            aligned.put(fuzzySet, SortedJoin.of(keys, fuzzySet.x).alignRight(fuzzySet.mu));
+        }
+        Node kernel = node.bind(aligned);
+        double[] result = new double[keys.length];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = kernel.eval(k);
+        }
+        return new FuzzySet(keys, result, null);
+    }
+
+    /**
+     * Node of the expression tree.
+     */
+    private abstract static class Node {
+
+        /**
+         * Returns a value of the node for the k-th common key. Only bound nodes can be evaluated.
+         *
+         * @param k an index of the common key.
+         * @return see description.
+         */
+        abstract double eval(int k);
+
+        /**
+         * Returns a copy of the node whose leaves read the specified aligned membership values.
+         *
+         * @param aligned membership values of every operand aligned with the common keys.
+         * @return see description.
+         */
+        abstract Node bind(Map<FuzzySet, double[]> aligned);
+
+        /**
+         * Adds distinct operand sets of the node to the specified list.
+         *
+         * @param sets operand sets.
+         */
+        abstract void collect(List<FuzzySet> sets);
+    }
+
+    private static final class SetLeaf extends Node {
+
+        private final FuzzySet fuzzySet;
+
+        SetLeaf(FuzzySet fuzzySet) {
+            this.fuzzySet = fuzzySet;
+        }
+
+        @Override
+        double eval(int k) {
+            throw new IllegalStateException("Expression is not bound");
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new ArrayLeaf(aligned.get(fuzzySet));
+        }
+
+        @Override
+        void collect(List<FuzzySet> sets) {
+            for (FuzzySet set : sets) {
+                if (set == fuzzySet) {
+                    return;
+                }
+            }
+            sets.add(fuzzySet);
+        }
+    }
+
+    private static final class ArrayLeaf extends Node {
+
+        private final double[] values;
+
+        ArrayLeaf(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        double eval(int k) {
+            return values[k];
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return this;
+        }
+
+        @Override
+        void collect(List<FuzzySet> sets) {
+        }
+    }
+
+    private abstract static class UnaryNode extends Node {
+
+        final Node child;
+
+        UnaryNode(Node child) {
+            this.child = child;
+        }
+
+        @Override
+        void collect(List<FuzzySet> sets) {
+            child.collect(sets);
+        }
+    }
+
+    private static final class Addition extends UnaryNode {
+
+        Addition(Node child) {
+            super(child);
+        }
+
+        @Override
+        double eval(int k) {
+            return 1 - child.eval(k);
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new Addition(child.bind(aligned));
+        }
+    }
+
+    private static final class Concentration extends UnaryNode {
+
+        Concentration(Node child) {
+            super(child);
+        }
+
+        @Override
+        double eval(int k) {
+            double value = child.eval(k);
+            return value * value;
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new Concentration(child.bind(aligned));
+        }
+    }
+
+    private static final class Stretching extends UnaryNode {
+
+        Stretching(Node child) {
+            super(child);
+        }
+
+        @Override
+        double eval(int k) {
+            return Math.sqrt(child.eval(k));
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new Stretching(child.bind(aligned));
+        }
+    }
+
+    private abstract static class BinaryNode extends Node {
+
+        final Node left;
+        final Node right;
+
+        BinaryNode(Node left, Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        void collect(List<FuzzySet> sets) {
+            left.collect(sets);
+            right.collect(sets);
+        }
+    }
+
+    private static final class NormNode extends BinaryNode {
+
+        private final TNorm norm;
+
+        NormNode(Node left, Node right, TNorm norm) {
+            super(left, right);
+            this.norm = norm;
+        }
+
+        @Override
+        double eval(int k) {
+            return norm.apply(left.eval(k), right.eval(k));
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new NormNode(left.bind(aligned), right.bind(aligned), norm);
+        }
+    }
+
+    private static final class ConormNode extends BinaryNode {
+
+        private final TConorm conorm;
+
+        ConormNode(Node left, Node right, TConorm conorm) {
+            super(left, right);
+            this.conorm = conorm;
+        }
+
+        @Override
+        double eval(int k) {
+            return conorm.apply(left.eval(k), right.eval(k));
+        }
+
+        @Override
+        Node bind(Map<FuzzySet, double[]> aligned) {
+            return new ConormNode(left.bind(aligned), right.bind(aligned), conorm);
+        }
+    }
+}
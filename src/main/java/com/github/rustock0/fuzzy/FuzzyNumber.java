@@ -15,6 +15,28 @@ public class FuzzyNumber extends FuzzySet {
         super(set);
     }
 
+    /**
+     * Creates a fuzzy number from the specified map.
+     *
+     * @param set   a source map.
+     * @param eager true if all derived properties should be calculated immediately,
+     *              false if every property should be calculated on first access.
+     */
+    protected FuzzyNumber(Map<Double, Double> set, boolean eager) {
+        super(set, eager);
+    }
+
+    /**
+     * Creates a lazy fuzzy number over already sorted arrays without copying them.
+     *
+     * @param x     sorted keys.
+     * @param mu    membership values aligned with the keys.
+     * @param order encounter order or null.
+     */
+    FuzzyNumber(double[] x, double[] mu, int[] order) {
+        super(x, mu, order);
+    }
+
     /**
      * Returns a result of addition current and specified numbers.
      *
@@ -87,10 +109,12 @@ public class FuzzyNumber extends FuzzySet {
      */
     private FuzzyNumber action(FuzzyNumber anotherSet, BiFunction<Double, Double, Double> function) {
         Map<Double, Double> result = new TreeMap<>();
-        for (Map.Entry<Double, Double> entrySet : set.entrySet()) {
-            for (Map.Entry<Double, Double> anotherEntrySet : anotherSet.set.entrySet()) {
-                double key = function.apply(entrySet.getKey(), anotherEntrySet.getKey());
-                double value = Math.min(entrySet.getValue(), anotherEntrySet.getValue());
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < anotherSet.x.length; j++) {
+                int k = at(i);
+                int l = anotherSet.at(j);
+                double key = function.apply(x[k], anotherSet.x[l]);
+                double value = Math.min(mu[k], anotherSet.mu[l]);
                 if (result.containsKey(key)) {
                     double oldValue = result.get(key);
                     value = Math.max(value, oldValue);
@@ -98,6 +122,6 @@ public class FuzzyNumber extends FuzzySet {
                 result.put(key, value);
             }
         }
-        return new FuzzyNumber(result);
+        return new FuzzyNumber(result, false);
     }
 }
@@ -3,6 +3,7 @@ package com.github.rustock0.fuzzy;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
 
 /**
  * Implementation of methods to work with Fuzzy Relations.
@@ -108,7 +109,22 @@ public class FuzzyRelation {
      * @return see description.
      */
     public FuzzyRelation addition(FuzzyRelation anotherRelation) {
-        return action(anotherRelation, Math::max);
+        return addition(anotherRelation, TConorm.maximum());
+    }
+
+    /**
+     * Returns an addition of the current and specified fuzzy relations using the specified t-conorm.
+     *
+     * @param anotherRelation an another fuzzy relation.
+     * @param conorm          a t-conorm.
+     * @return see description.
+     */
+    public FuzzyRelation addition(FuzzyRelation anotherRelation, TConorm conorm) {
+        double[][] result = new double[matrix.length][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            conorm.apply(matrix[i], anotherRelation.matrix[i], result[i]);
+        }
+        return new FuzzyRelation(result);
     }
 
     /**
@@ -118,7 +134,22 @@ public class FuzzyRelation {
      * @return see description.
      */
     public FuzzyRelation intersection(FuzzyRelation anotherRelation) {
-        return action(anotherRelation, Math::min);
+        return intersection(anotherRelation, TNorm.minimum());
+    }
+
+    /**
+     * Returns an intersection of the current and specified fuzzy relations using the specified t-norm.
+     *
+     * @param anotherRelation an another fuzzy relation.
+     * @param norm            a t-norm.
+     * @return see description.
+     */
+    public FuzzyRelation intersection(FuzzyRelation anotherRelation, TNorm norm) {
+        double[][] result = new double[matrix.length][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            norm.apply(matrix[i], anotherRelation.matrix[i], result[i]);
+        }
+        return new FuzzyRelation(result);
     }
 
     /**
@@ -138,7 +169,11 @@ public class FuzzyRelation {
      * @return see description.
      */
     public FuzzyRelation deduct(FuzzyRelation anotherRelation) {
-        return action(anotherRelation, (x, y) -> Math.max(Math.min(x, 1 - y), Math.min(1 - x, y)));
+        double[][] result = new double[matrix.length][matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            Kernels.get().symmetricDifference(matrix[i], anotherRelation.matrix[i], result[i]);
+        }
+        return new FuzzyRelation(result);
     }
 
 
@@ -150,9 +185,7 @@ public class FuzzyRelation {
     public FuzzyRelation deductSymmetric() {
         double[][] result = new double[matrix.length][matrix.length];
         for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix.length; j++) {
-                result[i][j] = 1 - matrix[i][j];
-            }
+            Kernels.get().complement(matrix[i], result[i]);
         }
         return new FuzzyRelation(result);
     }
@@ -164,11 +197,11 @@ public class FuzzyRelation {
      * @param function        some boolean function.
      * @return see description.
      */
-    private FuzzyRelation action(FuzzyRelation anotherRelation, BiFunction<Double, Double, Double> function) {
+    private FuzzyRelation action(FuzzyRelation anotherRelation, DoubleBinaryOperator function) {
         double[][] result = new double[matrix.length][matrix.length];
         for (int i = 0; i < matrix.length; i++) {
             for (int j = 0; j < matrix.length; j++) {
-                result[i][j] = function.apply(matrix[i][j], anotherRelation.matrix[i][j]);
+                result[i][j] = function.applyAsDouble(matrix[i][j], anotherRelation.matrix[i][j]);
             }
         }
         return new FuzzyRelation(result);
@@ -1,15 +1,27 @@
 package com.github.rustock0.fuzzy;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Implementation of methods to work with Fuzzy Sets.
+ * <p>
+ * The universe is stored as two primitive arrays sorted by key: {@code x} and {@code mu}.
+ * If the points were supplied in another order, {@code order} keeps that encounter order,
+ * so that all positional operations (support, distances, convexity, etc.) behave exactly
+ * as they did over the source map. {@link #getSet()} exposes a read-only {@link Map} view.
+ * <p>
+ * The set is not thread-safe: {@link #normalize()} and the in-place operations modify it, and derived properties
+ * are cached in mutable collections. Use {@link #toImmutable()} to share a set between threads.
+ * An in-place operation drops all cached properties of the set it modifies.
  *
  * @author Evgeny Mironenko
  */
@@ -17,6 +29,24 @@ public class FuzzySet {
 
     protected final Map<Double, Double> set;
 
+    /**
+     * Keys of the set sorted in ascending order.
+     */
+    final double[] x;
+    /**
+     * Membership values, aligned with {@link #x}.
+     */
+    final double[] mu;
+    /**
+     * Encounter order of the points as indexes into {@link #x}, or null if it's the sorted order.
+     */
+    final int[] order;
+
+    private Universe universe;
+    private FuzzySetSummary summary;
+    private double[] cumulative;
+    private AlphaIndex alphaIndex;
+    private int hash;
     private List<Double> core;
     private List<Double> transitionPoint;
     private Double height;
@@ -30,8 +60,106 @@ public class FuzzySet {
     private Map<Double, Double> stretching;
 
     public FuzzySet(Map<Double, Double> set) {
-        this.set = set;
-        calculate();
+        this(set, true);
+    }
+
+    /**
+     * Creates a fuzzy set from the specified points. Keys may be given in any order, but must be unique.
+     *
+     * @param x  keys of the points.
+     * @param mu membership values of the points.
+     */
+    public FuzzySet(double[] x, double[] mu) {
+        this(x, mu, true, true);
+    }
+
+    /**
+     * Creates a fuzzy set from the specified map.
+     *
+     * @param set   a source map.
+     * @param eager true if all derived properties should be calculated immediately,
+     *              false if every property should be calculated on first access.
+     */
+    protected FuzzySet(Map<Double, Double> set, boolean eager) {
+        this(keys(set), values(set), false, eager);
+    }
+
+    FuzzySet(double[] x, double[] mu, boolean copy, boolean eager) {
+        if (x.length != mu.length) {
+            throw new IllegalArgumentException("Keys and values have different lengths: " + x.length + " and " + mu.length);
+        }
+        if (isAscending(x)) {
+            this.x = copy ? x.clone() : x;
+            this.mu = copy ? mu.clone() : mu;
+            this.order = null;
+        } else {
+            this.x = x.clone();
+            Arrays.sort(this.x);
+            for (int i = 1; i < this.x.length; i++) {
+                if (Double.compare(this.x[i - 1], this.x[i]) == 0) {
+                    throw new IllegalArgumentException("Duplicate key: " + this.x[i]);
+                }
+            }
+            this.mu = new double[x.length];
+            this.order = new int[x.length];
+            for (int i = 0; i < x.length; i++) {
+                int k = Arrays.binarySearch(this.x, x[i]);
+                this.mu[k] = mu[i];
+                this.order[i] = k;
+            }
+        }
+        this.set = new MapView(null);
+        if (eager) {
+            calculate();
+        }
+    }
+
+    /**
+     * Creates a lazy fuzzy set over already sorted arrays without copying them.
+     *
+     * @param x     sorted keys.
+     * @param mu    membership values aligned with the keys.
+     * @param order encounter order or null.
+     */
+    FuzzySet(double[] x, double[] mu, int[] order) {
+        this.x = x;
+        this.mu = mu;
+        this.order = order;
+        this.set = new MapView(null);
+    }
+
+    /**
+     * Creates a lazy fuzzy set over the specified universe without copying the membership values.
+     *
+     * @param universe a universe.
+     * @param mu       membership values aligned with the keys of the universe.
+     */
+    FuzzySet(Universe universe, double[] mu) {
+        this(universe.x, mu, null);
+        this.universe = universe;
+    }
+
+    /**
+     * Creates a fuzzy set whose derived properties (core, support, entropy, etc.)
+     * are calculated on first access instead of in the constructor.
+     *
+     * @param set a source map.
+     * @return see description.
+     */
+    public static FuzzySet lazy(Map<Double, Double> set) {
+        return new FuzzySet(set, false);
+    }
+
+    /**
+     * Creates a fuzzy set from the specified points whose derived properties
+     * are calculated on first access instead of in the constructor.
+     *
+     * @param x  keys of the points.
+     * @param mu membership values of the points.
+     * @return see description.
+     */
+    public static FuzzySet lazy(double[] x, double[] mu) {
+        return new FuzzySet(x, mu, true, false);
     }
 
     /**
@@ -51,17 +179,33 @@ public class FuzzySet {
         stretching = getStretching();
     }
 
+    /**
+     * Returns descriptive properties of the current fuzzy set calculated in a single pass.
+     * Core, transition points, height, support, nearest clear set and entropy are all taken from this summary.
+     *
+     * @return see description.
+     */
+    public FuzzySetSummary getSummary() {
+        FuzzySetSummary result = summary;
+        if (result == null) {
+            result = FuzzySetSummary.of(this);
+            summary = result;
+        }
+        return result;
+    }
+
     /**
      * Returns a core of the current fuzzy set.
      *
      * @return see description.
      */
     public List<Double> getCore() {
-        if (core == null) {
-            core = new ArrayList<>(set.entrySet().stream().filter(entry -> entry.getValue() == 1.0).map(Map.Entry::getKey)
-                .collect(Collectors.toList()));
+        List<Double> result = core;
+        if (result == null) {
+            result = getSummary().getCore();
+            core = result;
         }
-        return core;
+        return result;
     }
 
     /**
@@ -70,11 +214,12 @@ public class FuzzySet {
      * @return see description.
      */
     public List<Double> getTransitionPoint() {
-        if (transitionPoint == null) {
-            transitionPoint = new ArrayList<>(set.entrySet().stream().filter(entry -> entry.getValue() == 0.5).map(Map.Entry::getKey)
-                .collect(Collectors.toList()));
+        List<Double> result = transitionPoint;
+        if (result == null) {
+            result = getSummary().getTransitionPoint();
+            transitionPoint = result;
         }
-        return transitionPoint;
+        return result;
     }
 
     /**
@@ -83,15 +228,12 @@ public class FuzzySet {
      * @return see description.
      */
     public double getHeight() {
-        if (height == null) {
-            height = 0.0;
-            for (Double mu : set.values()) {
-                if (mu > height) {
-                    height = mu;
-                }
-            }
+        Double result = height;
+        if (result == null) {
+            result = getSummary().getHeight();
+            height = result;
         }
-        return height;
+        return result;
     }
 
     /**
@@ -100,11 +242,12 @@ public class FuzzySet {
      * @return see description.
      */
     public List<Double> getSupport() {
-        if (support == null) {
-            support = new ArrayList<>(set.entrySet().stream().filter(entry -> entry.getValue() > 0.0).map(Map.Entry::getKey)
-                .collect(Collectors.toList()));
+        List<Double> result = support;
+        if (result == null) {
+            result = getSummary().getSupport();
+            support = result;
         }
-        return support;
+        return result;
     }
 
     /**
@@ -113,15 +256,51 @@ public class FuzzySet {
      * @return a normalized fuzzy set.
      */
     public FuzzySet normalize() {
-        if (getHeight() != 1.0) {
-            for (Map.Entry<Double, Double> entry : set.entrySet()) {
-                set.put(entry.getKey(), entry.getValue() / height);
+        double height = getHeight();
+        if (height != 1.0) {
+            checkMutable();
+            for (int i = 0; i < mu.length; i++) {
+                mu[i] = mu[i] / height;
             }
-            height = 1.0;
+            invalidate();
+            this.height = 1.0;
         }
         return this;
     }
 
+    /**
+     * Drops all cached derived properties after membership values were changed in place.
+     */
+    private void invalidate() {
+        summary = null;
+        cumulative = null;
+        alphaIndex = null;
+        hash = 0;
+        core = null;
+        transitionPoint = null;
+        height = null;
+        support = null;
+        nearestClearSet = null;
+        entropy = null;
+        convex = null;
+        concave = null;
+    }
+
+    /**
+     * Throws an exception if membership values of the current set must not be changed.
+     */
+    void checkMutable() {
+    }
+
+    /**
+     * Returns an immutable copy of the current fuzzy set which can be shared between threads.
+     *
+     * @return see description.
+     */
+    public ImmutableFuzzySet toImmutable() {
+        return new ImmutableFuzzySet(x, mu.clone(), order);
+    }
+
     /**
      * Returns a Hamming distance between the current fuzzy set and the specified another set.
      *
@@ -130,13 +309,17 @@ public class FuzzySet {
      */
     public double getHammingDistance(final FuzzySet anotherSet) {
         double distance = 0.0;
-        Iterator<Double> setIter = set.values().iterator();
-        Iterator<Double> anotherSetIter = anotherSet.set.values().iterator();
-        while (setIter.hasNext() && anotherSetIter.hasNext()) {
-            distance += Math.abs(setIter.next() - anotherSetIter.next());
+        int common = Math.min(size(), anotherSet.size());
+        if (order == null && anotherSet.order == null) {
+            distance = Kernels.get().absDifferenceSum(mu, anotherSet.mu, common);
+        } else {
+            for (int i = 0; i < common; i++) {
+                distance += Math.abs(mu[at(i)] - anotherSet.mu[anotherSet.at(i)]);
+            }
         }
-        for (Iterator<Double> lastIter = setIter.hasNext() ? setIter : anotherSetIter; lastIter.hasNext(); ) {
-            distance += lastIter.next();
+        FuzzySet longer = size() > anotherSet.size() ? this : anotherSet;
+        for (int i = common; i < longer.size(); i++) {
+            distance += longer.mu[longer.at(i)];
         }
         return distance;
     }
@@ -149,13 +332,17 @@ public class FuzzySet {
      */
     public double getEuclideanDistance(final FuzzySet anotherSet) {
         double distance = 0.0;
-        Iterator<Double> setIter = set.values().iterator();
-        Iterator<Double> anotherSetIter = anotherSet.set.values().iterator();
-        while (setIter.hasNext() && anotherSetIter.hasNext()) {
-            distance += Math.pow(setIter.next() - anotherSetIter.next(), 2);
+        int common = Math.min(size(), anotherSet.size());
+        if (order == null && anotherSet.order == null) {
+            distance = Kernels.get().squaredDifferenceSum(mu, anotherSet.mu, common);
+        } else {
+            for (int i = 0; i < common; i++) {
+                distance += Math.pow(mu[at(i)] - anotherSet.mu[anotherSet.at(i)], 2);
+            }
         }
-        for (Iterator<Double> lastIter = setIter.hasNext() ? setIter : anotherSetIter; lastIter.hasNext(); ) {
-            distance += lastIter.next();
+        FuzzySet longer = size() > anotherSet.size() ? this : anotherSet;
+        for (int i = common; i < longer.size(); i++) {
+            distance += longer.mu[longer.at(i)];
         }
         return Math.sqrt(distance);
     }
@@ -166,17 +353,22 @@ public class FuzzySet {
      * @return see description.
      */
     public List<Integer> getNearestClearSet() {
-        if (nearestClearSet == null) {
-            nearestClearSet = new ArrayList<>();
-            for (Double mu : set.values()) {
-                if (mu > 0.5) {
-                    nearestClearSet.add(1);
-                } else {
-                    nearestClearSet.add(0);
-                }
-            }
+        List<Integer> result = nearestClearSet;
+        if (result == null) {
+            result = getSummary().getNearestClearSet();
+            nearestClearSet = result;
         }
-        return nearestClearSet;
+        return result;
+    }
+
+    /**
+     * Returns the nearest clear set as a bitset over the keys of the current fuzzy set in ascending order,
+     * i.e. the keys with membership values above 0.5.
+     *
+     * @return see description.
+     */
+    public CrispSet getNearestClearCrispSet() {
+        return CrispSet.of(x, mu, 0.5, true);
     }
 
     /**
@@ -185,19 +377,12 @@ public class FuzzySet {
      * @return see description.
      */
     public double getEntropy() {
-        if (entropy == null) {
-            entropy = 0.0;
-            double p;
-            for (Double mu : set.values()) {
-                p = mu / set.values().stream().mapToDouble(Double::doubleValue).sum();
-                if (p == 0.0) {
-                    continue;
-                }
-                entropy += p * Math.log(p) / Math.log(2);
-            }
-            entropy = (-1 * entropy) / (Math.log(6) / Math.log(2));
+        Double result = entropy;
+        if (result == null) {
+            result = getSummary().getEntropy();
+            entropy = result;
         }
-        return entropy;
+        return result;
     }
 
     /**
@@ -206,28 +391,32 @@ public class FuzzySet {
      * @return see description.
      */
     public boolean isConvex() {
-        if (convex == null) {
-            if (set.size() < 3) {
-                convex = true;
-                return true;
-            }
-            List<Map.Entry<Double, Double>> entries = new ArrayList<>(set.entrySet());
-            double x1, x2, x3, mu1, mu2, mu3;
-            for (int i = 0; i < set.size() - 2; i++) {
-                x1 = entries.get(i).getKey();
-                mu1 = entries.get(i).getValue();
-                x2 = entries.get(i + 1).getKey();
-                mu2 = entries.get(i + 1).getValue();
-                x3 = entries.get(i + 2).getKey();
-                mu3 = entries.get(i + 2).getValue();
-                if (!(mu2 >= (x3 - x2) / (x3 - x1) * mu1 + (x2 - x1) / (x3 - x1) * mu3)) {
-                    convex = false;
-                    return false;
-                }
+        Boolean result = convex;
+        if (result == null) {
+            result = checkConvexity();
+            convex = result;
+        }
+        return result;
+    }
+
+    private boolean checkConvexity() {
+        int size = size();
+        if (size < 3) {
+            return true;
+        }
+        double x1, x2, x3, mu1, mu2, mu3;
+        for (int i = 0; i < size - 2; i++) {
+            x1 = x[at(i)];
+            mu1 = mu[at(i)];
+            x2 = x[at(i + 1)];
+            mu2 = mu[at(i + 1)];
+            x3 = x[at(i + 2)];
+            mu3 = mu[at(i + 2)];
+            if (!(mu2 >= (x3 - x2) / (x3 - x1) * mu1 + (x2 - x1) / (x3 - x1) * mu3)) {
+                return false;
             }
-            convex = true;
         }
-        return convex;
+        return true;
     }
 
     /**
@@ -236,43 +425,86 @@ public class FuzzySet {
      * @return see description.
      */
     public boolean isConcave() {
-        if (concave == null) {
-            if (set.size() < 3) {
-                concave = true;
-                return true;
-            }
-            List<Map.Entry<Double, Double>> entries = new ArrayList<>(set.entrySet());
-            double x1, x2, x3, mu1, mu2, mu3;
-            for (int i = 0; i < set.size() - 2; i++) {
-                x1 = entries.get(i).getKey();
-                mu1 = entries.get(i).getValue();
-                x2 = entries.get(i + 1).getKey();
-                mu2 = entries.get(i + 1).getValue();
-                x3 = entries.get(i + 2).getKey();
-                mu3 = entries.get(i + 2).getValue();
-                if (!(mu2 <= (x3 - x2) / (x3 - x1) * mu1 + (x2 - x1) / (x3 - x1) * mu3)) {
-                    concave = false;
-                    return false;
-                }
+        Boolean result = concave;
+        if (result == null) {
+            result = checkConcavity();
+            concave = result;
+        }
+        return result;
+    }
+
+    private boolean checkConcavity() {
+        int size = size();
+        if (size < 3) {
+            return true;
+        }
+        double x1, x2, x3, mu1, mu2, mu3;
+        for (int i = 0; i < size - 2; i++) {
+            x1 = x[at(i)];
+            mu1 = mu[at(i)];
+            x2 = x[at(i + 1)];
+            mu2 = mu[at(i + 1)];
+            x3 = x[at(i + 2)];
+            mu3 = mu[at(i + 2)];
+            if (!(mu2 <= (x3 - x2) / (x3 - x1) * mu1 + (x2 - x1) / (x3 - x1) * mu3)) {
+                return false;
             }
-            concave = true;
         }
-        return concave;
+        return true;
     }
 
     /**
-     * Returns an addition of the current fuzzy set.
+     * Returns an addition of the current fuzzy set: a read-only view of {@link #not()}.
      *
      * @return see description.
      */
     public Map<Double, Double> getAddition() {
-        if (addition == null) {
-            addition = new TreeMap<>();
-            for (Map.Entry<Double, Double> entry : set.entrySet()) {
-                addition.put(entry.getKey(), 1 - entry.getValue());
-            }
+        Map<Double, Double> result = addition;
+        if (result == null) {
+            result = not().getSet();
+            addition = result;
         }
-        return addition;
+        return result;
+    }
+
+    /**
+     * Returns an union of the current and specified fuzzy sets over their common keys.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param conorm     a t-conorm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public FuzzySet getUnion(FuzzySet anotherSet, TConorm conorm) {
+        SortedJoin join = SortedJoin.of(x, anotherSet.x);
+        double[] result = new double[join.size()];
+        conorm.apply(join.alignLeft(mu), join.alignRight(anotherSet.mu), result);
+        return new FuzzySet(join.x, result, null);
+    }
+
+    /**
+     * Returns an intersection of the current and specified fuzzy sets over their common keys.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public FuzzySet getIntersection(FuzzySet anotherSet, TNorm norm) {
+        SortedJoin join = SortedJoin.of(x, anotherSet.x);
+        double[] result = new double[join.size()];
+        norm.apply(join.alignLeft(mu), join.alignRight(anotherSet.mu), result);
+        return new FuzzySet(join.x, result, null);
+    }
+
+    /**
+     * Deducts specified fuzzy set from the current fuzzy set and returns the result,
+     * i.e. intersects the current set with the addition of another set.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm used for the intersection.
+     * @return result of deduction.
+     */
+    public FuzzySet deduct(FuzzySet anotherSet, TNorm norm) {
+        return getIntersection(anotherSet.not().toFuzzySet(), norm);
     }
 
     /**
@@ -283,13 +515,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getUnionMax(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                result.put(entry.getKey(), Math.max(entry.getValue(), set.get(entry.getKey())));
-            }
-        }
-        return new FuzzySet(result);
+        return getUnion(anotherSet, TConorm.maximum());
     }
 
     /**
@@ -300,13 +526,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getIntersectionMax(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                result.put(entry.getKey(), Math.min(entry.getValue(), set.get(entry.getKey())));
-            }
-        }
-        return new FuzzySet(result);
+        return getIntersection(anotherSet, TNorm.minimum());
     }
 
     /**
@@ -317,7 +537,7 @@ public class FuzzySet {
      * @return result of deduction.
      */
     public FuzzySet deductMax(FuzzySet anotherSet) {
-        return getIntersectionMax(new FuzzySet(anotherSet.getAddition()));
+        return deduct(anotherSet, TNorm.minimum());
     }
 
     /**
@@ -328,15 +548,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getUnionAlg(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                double mua = set.get(entry.getKey());
-                double mub = entry.getValue();
-                result.put(entry.getKey(), mua + mub - mua * mub);
-            }
-        }
-        return new FuzzySet(result);
+        return getUnion(anotherSet, TConorm.probabilisticSum());
     }
 
     /**
@@ -347,15 +559,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getIntersectionAlg(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                double mua = set.get(entry.getKey());
-                double mub = entry.getValue();
-                result.put(entry.getKey(), mua * mub);
-            }
-        }
-        return new FuzzySet(result);
+        return getIntersection(anotherSet, TNorm.product());
     }
 
     /**
@@ -366,7 +570,7 @@ public class FuzzySet {
      * @return result of deduction.
      */
     public FuzzySet deductAlg(FuzzySet anotherSet) {
-        return getIntersectionAlg(new FuzzySet(anotherSet.getAddition()));
+        return deduct(anotherSet, TNorm.product());
     }
 
     /**
@@ -401,13 +605,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getUnionLim(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                result.put(entry.getKey(), Math.min(1, set.get(entry.getKey() + entry.getValue())));
-            }
-        }
-        return new FuzzySet(result);
+        return getUnion(anotherSet, TConorm.lukasiewicz());
     }
 
     /**
@@ -418,13 +616,7 @@ public class FuzzySet {
      * @return see description.
      */
     public FuzzySet getIntersectionLim(FuzzySet anotherSet) {
-        Map<Double, Double> result = new HashMap<>();
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey())) {
-                result.put(entry.getKey(), Math.max(0, set.get(entry.getKey()) + entry.getValue() - 1));
-            }
-        }
-        return new FuzzySet(result);
+        return getIntersection(anotherSet, TNorm.lukasiewicz());
     }
 
     /**
@@ -435,7 +627,7 @@ public class FuzzySet {
      * @return result of deduction.
      */
     public FuzzySet deductLim(FuzzySet anotherSet) {
-        return getIntersectionLim(new FuzzySet(anotherSet.getAddition()));
+        return deduct(anotherSet, TNorm.lukasiewicz());
     }
 
     /**
@@ -463,33 +655,193 @@ public class FuzzySet {
     }
 
     /**
-     * Returns an concentration of the current fuzzy set.
+     * Writes an union of the current and specified fuzzy sets into the destination set, see
+     * {@link #getUnion(FuzzySet, TConorm)}. Nothing is allocated if all three sets share one universe.
+     *
+     * @param anotherSet  an another fuzzy set.
+     * @param conorm      a t-conorm, applied as (mu of the current set, mu of another set).
+     * @param destination a set with the keys common to both sets, it may be one of them.
+     * @return the destination set.
+     */
+    public FuzzySet unionInto(FuzzySet anotherSet, TConorm conorm, FuzzySet destination) {
+        SortedJoin join = destination(anotherSet, destination);
+        conorm.apply(join.alignLeft(mu), join.alignRight(anotherSet.mu), destination.mu);
+        destination.invalidate();
+        return destination;
+    }
+
+    /**
+     * Writes an intersection of the current and specified fuzzy sets into the destination set, see
+     * {@link #getIntersection(FuzzySet, TNorm)}. Nothing is allocated if all three sets share one universe.
+     *
+     * @param anotherSet  an another fuzzy set.
+     * @param norm        a t-norm, applied as (mu of the current set, mu of another set).
+     * @param destination a set with the keys common to both sets, it may be one of them.
+     * @return the destination set.
+     */
+    public FuzzySet intersectionInto(FuzzySet anotherSet, TNorm norm, FuzzySet destination) {
+        SortedJoin join = destination(anotherSet, destination);
+        norm.apply(join.alignLeft(mu), join.alignRight(anotherSet.mu), destination.mu);
+        destination.invalidate();
+        return destination;
+    }
+
+    /**
+     * Writes an union of the current and specified fuzzy sets into the destination set.
+     * Implements Maximin algorithm.
+     *
+     * @param anotherSet  an another fuzzy set.
+     * @param destination a set with the keys common to both sets, it may be one of them.
+     * @return the destination set.
+     */
+    public FuzzySet unionMaxInto(FuzzySet anotherSet, FuzzySet destination) {
+        return unionInto(anotherSet, TConorm.maximum(), destination);
+    }
+
+    /**
+     * Replaces the current fuzzy set by its union with the specified set.
+     *
+     * @param anotherSet an another fuzzy set containing all keys of the current set.
+     * @param conorm     a t-conorm, applied as (mu of the current set, mu of another set).
+     * @return the current set.
+     */
+    public FuzzySet unionInPlace(FuzzySet anotherSet, TConorm conorm) {
+        return unionInto(anotherSet, conorm, this);
+    }
+
+    /**
+     * Replaces the current fuzzy set by its intersection with the specified set.
+     *
+     * @param anotherSet an another fuzzy set containing all keys of the current set.
+     * @param norm       a t-norm, applied as (mu of the current set, mu of another set).
+     * @return the current set.
+     */
+    public FuzzySet intersectInPlace(FuzzySet anotherSet, TNorm norm) {
+        return intersectionInto(anotherSet, norm, this);
+    }
+
+    /**
+     * Replaces the current fuzzy set by its union with the specified set. Implements Maximin algorithm.
+     *
+     * @param anotherSet an another fuzzy set containing all keys of the current set.
+     * @return the current set.
+     */
+    public FuzzySet unionMaxInPlace(FuzzySet anotherSet) {
+        return unionInPlace(anotherSet, TConorm.maximum());
+    }
+
+    /**
+     * Replaces the current fuzzy set by its intersection with the specified set. Implements Maximin algorithm.
+     *
+     * @param anotherSet an another fuzzy set containing all keys of the current set.
+     * @return the current set.
+     */
+    public FuzzySet intersectMaxInPlace(FuzzySet anotherSet) {
+        return intersectInPlace(anotherSet, TNorm.minimum());
+    }
+
+    /**
+     * Replaces the current fuzzy set by its intersection with the specified set. Implements Algebraic algorithm.
+     *
+     * @param anotherSet an another fuzzy set containing all keys of the current set.
+     * @return the current set.
+     */
+    public FuzzySet intersectAlgInPlace(FuzzySet anotherSet) {
+        return intersectInPlace(anotherSet, TNorm.product());
+    }
+
+    /**
+     * Sets all membership values of the current fuzzy set to the specified value,
+     * e.g. to reuse it as a scratch destination of an aggregation.
+     *
+     * @param value a number between 0 and 1.
+     * @return the current set.
+     */
+    public FuzzySet fill(double value) {
+        if (!(value >= 0.0 && value <= 1.0)) {
+            throw new IllegalArgumentException("Invalid membership value: " + value);
+        }
+        checkMutable();
+        Arrays.fill(mu, value);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Joins the current and specified sets and checks that the destination has the joined keys.
+     */
+    private SortedJoin destination(FuzzySet anotherSet, FuzzySet destination) {
+        destination.checkMutable();
+        SortedJoin join = SortedJoin.of(x, anotherSet.x);
+        if (destination.x != join.x && !Arrays.equals(destination.x, join.x)) {
+            throw new IllegalArgumentException("Destination keys differ from the keys common to both sets");
+        }
+        return join;
+    }
+
+    /**
+     * Returns an concentration of the current fuzzy set: a read-only view of {@link #very()}.
      *
      * @return see description.
      */
     public Map<Double, Double> getConcentration() {
-        if (concentration == null) {
-            concentration = new TreeMap<>();
-            for (Map.Entry<Double, Double> entry : set.entrySet()) {
-                concentration.put(entry.getKey(), Math.pow(entry.getValue(), 2));
-            }
+        Map<Double, Double> result = concentration;
+        if (result == null) {
+            result = very().getSet();
+            concentration = result;
         }
-        return concentration;
+        return result;
     }
 
     /**
-     * Returns an stretching of the current fuzzy set.
+     * Returns an stretching of the current fuzzy set: a read-only view of {@link #somewhat()}.
      *
      * @return see description.
      */
     public Map<Double, Double> getStretching() {
-        if (stretching == null) {
-            stretching = new TreeMap<>();
-            for (Map.Entry<Double, Double> entry : set.entrySet()) {
-                stretching.put(entry.getKey(), Math.sqrt(entry.getValue()));
-            }
+        Map<Double, Double> result = stretching;
+        if (result == null) {
+            result = somewhat().getSet();
+            stretching = result;
         }
-        return stretching;
+        return result;
+    }
+
+    /**
+     * Returns "very" hedge of the current fuzzy set (concentration, mu^2) as a lazy view.
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet very() {
+        return power(2);
+    }
+
+    /**
+     * Returns "somewhat" hedge of the current fuzzy set (stretching, sqrt(mu)) as a lazy view.
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet somewhat() {
+        return power(0.5);
+    }
+
+    /**
+     * Returns "not" hedge of the current fuzzy set (addition, 1 - mu) as a lazy view.
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet not() {
+        return new HedgedFuzzySet(this, HedgedFuzzySet.complement());
+    }
+
+    /**
+     * Returns a power hedge of the current fuzzy set (mu^p) as a lazy view.
+     *
+     * @param p a positive exponent.
+     * @return see description.
+     */
+    public HedgedFuzzySet power(double p) {
+        return new HedgedFuzzySet(this, HedgedFuzzySet.powerOf(p));
     }
 
     /**
@@ -500,9 +852,10 @@ public class FuzzySet {
      */
     public List<Double> getAlphaCut(double alpha) {
         List<Double> result = new ArrayList<>();
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            if (entry.getValue() >= alpha) {
-                result.add(entry.getKey());
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            if (mu[k] >= alpha) {
+                result.add(x[k]);
             }
         }
         return result;
@@ -516,14 +869,95 @@ public class FuzzySet {
      */
     public List<Double> getStrictAlphaCut(double alpha) {
         List<Double> result = new ArrayList<>();
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            if (entry.getValue() > alpha) {
-                result.add(entry.getKey());
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            if (mu[k] > alpha) {
+                result.add(x[k]);
             }
         }
         return result;
     }
 
+    /**
+     * Returns keys of an alpha cut according the specified alpha value as a primitive array.
+     * Keys are ordered by membership in descending order, ties in ascending key order.
+     * The first call builds an index of the points sorted by membership, so every next cut
+     * takes O(log n + k) time, where k is a size of the cut.
+     *
+     * @param alpha a number between 0 and 1.
+     * @return see description.
+     */
+    public double[] getAlphaCutKeys(double alpha) {
+        return alphaIndex().cut(alpha, false);
+    }
+
+    /**
+     * Returns keys of a strict alpha cut according the specified alpha value as a primitive array.
+     * Keys are ordered as in {@link #getAlphaCutKeys(double)}.
+     *
+     * @param alpha a number between 0 and 1.
+     * @return see description.
+     */
+    public double[] getStrictAlphaCutKeys(double alpha) {
+        return alphaIndex().cut(alpha, true);
+    }
+
+    /**
+     * Returns an alpha cut according the specified alpha value as a bitset over the keys of the current fuzzy set.
+     *
+     * @param alpha a number between 0 and 1.
+     * @return see description.
+     */
+    public CrispSet getAlphaCutCrispSet(double alpha) {
+        return CrispSet.of(x, mu, alpha, false);
+    }
+
+    /**
+     * Returns a strict alpha cut according the specified alpha value as a bitset over the keys of the current fuzzy set.
+     *
+     * @param alpha a number between 0 and 1.
+     * @return see description.
+     */
+    public CrispSet getStrictAlphaCutCrispSet(double alpha) {
+        return CrispSet.of(x, mu, alpha, true);
+    }
+
+    /**
+     * Returns a size of an alpha cut according the specified alpha value in O(log n) time.
+     *
+     * @param alpha a number between 0 and 1.
+     * @param strict true for a strict alpha cut.
+     * @return see description.
+     */
+    public int getAlphaCutSize(double alpha, boolean strict) {
+        return alphaIndex().size(alpha, strict);
+    }
+
+    /**
+     * Returns a level-set decomposition of the current fuzzy set: element i contains keys of the alpha cut
+     * according the i-th alpha value, ordered as in {@link #getAlphaCutKeys(double)}.
+     *
+     * @param alphas numbers between 0 and 1.
+     * @return see description.
+     */
+    public double[][] getLevelSets(double... alphas) {
+        AlphaIndex index = alphaIndex();
+        double[][] result = new double[alphas.length][];
+        for (int i = 0; i < alphas.length; i++) {
+            result[i] = index.cut(alphas[i], false);
+        }
+        return result;
+    }
+
+    private AlphaIndex alphaIndex() {
+        AlphaIndex result = alphaIndex;
+        if (result == null) {
+            result = AlphaIndex.of(x, mu);
+            alphaIndex = result;
+        }
+        return result;
+    }
+
     /**
      * Returns true if the specified fuzzy set dominates (includes) the current fuzzy set.
      *
@@ -531,8 +965,9 @@ public class FuzzySet {
      * @return see description.
      */
     public boolean isDominate(FuzzySet anotherSet) {
-        for (Map.Entry<Double, Double> entry : anotherSet.set.entrySet()) {
-            if (set.containsKey(entry.getKey()) && entry.getValue() <= set.get(entry.getKey())) {
+        SortedJoin join = SortedJoin.of(x, anotherSet.x);
+        for (int k = 0; k < join.size(); k++) {
+            if (anotherSet.mu[join.right(k)] <= mu[join.left(k)]) {
                 return false;
             }
         }
@@ -548,9 +983,10 @@ public class FuzzySet {
     public double getDefuzzificationCOG() {
         double sum1 = 0;
         double sum2 = 0;
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            sum1 += entry.getKey() * entry.getValue();
-            sum2 += entry.getValue();
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            sum1 += x[k] * mu[k];
+            sum2 += mu[k];
         }
         return sum1 / sum2;
     }
@@ -562,34 +998,53 @@ public class FuzzySet {
      * @return see description.
      */
     public double getDefuzzificationCOA() {
+        double[] cumulative = cumulative();
+        double total = cumulative[x.length];
         double result = Double.NaN;
         double minSum = Double.MAX_VALUE;
-        for (Double x : set.keySet()) {
-            double tmp = getPartialSumResidual(x);
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            double tmp = Math.abs(cumulative[k] - (total - cumulative[k]));
             if (tmp < minSum) {
                 minSum = tmp;
-                result = x;
+                result = x[k];
             }
         }
         return result;
     }
 
-    private double getPartialSumResidual(double x) {
-        Map<Double, Double> sortedSet = new TreeMap<>(set);
-        double firstSum = 0;
-        double secondSum = 0;
-        boolean left = true;
-        for (Map.Entry<Double, Double> entry : sortedSet.entrySet()) {
-            if (entry.getKey() == x) {
-                left = false;
-            }
-            if (left) {
-                firstSum += entry.getValue();
-            } else {
-                secondSum += entry.getValue();
-            }
+    /**
+     * Returns a sum of membership values of all points with keys less than or equal to the specified key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public double getCumulativeMembership(double key) {
+        int i = indexOf(key);
+        return cumulative()[i >= 0 ? i + 1 : -i - 1];
+    }
+
+    /**
+     * Returns prefix sums of membership values in key order: element i is the sum of the first i values,
+     * the last element is the sum of all values. The array is calculated once and shared, it must not be modified.
+     *
+     * @return see description.
+     */
+    double[] cumulative() {
+        double[] result = cumulative;
+        if (result == null) {
+            result = prefixSums(mu);
+            cumulative = result;
+        }
+        return result;
+    }
+
+    static double[] prefixSums(double[] mu) {
+        double[] result = new double[mu.length + 1];
+        for (int i = 0; i < mu.length; i++) {
+            result[i + 1] = result[i] + mu[i];
         }
-        return Math.abs(firstSum - secondSum);
+        return result;
     }
 
     /**
@@ -601,11 +1056,12 @@ public class FuzzySet {
     public double getDefuzzificationLOM() {
         double result = Double.MAX_VALUE;
         double maxMu = 0;
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            if (entry.getValue() >= maxMu) {
-                maxMu = entry.getValue();
-                if (entry.getKey() < result) {
-                    result = entry.getKey();
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            if (mu[k] >= maxMu) {
+                maxMu = mu[k];
+                if (x[k] < result) {
+                    result = x[k];
                 }
             }
         }
@@ -621,11 +1077,12 @@ public class FuzzySet {
     public double getDefuzzificationROM() {
         double result = Double.MIN_VALUE;
         double maxMu = 0;
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            if (entry.getValue() >= maxMu) {
-                maxMu = entry.getValue();
-                if (entry.getKey() > result) {
-                    result = entry.getKey();
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            if (mu[k] >= maxMu) {
+                maxMu = mu[k];
+                if (x[k] > result) {
+                    result = x[k];
                 }
             }
         }
@@ -640,34 +1097,149 @@ public class FuzzySet {
      */
     public double getDefuzzificationMOM() {
         double maxMu = 0;
-        for (Double mu : set.values()) {
-            if (mu > maxMu) {
-                maxMu = mu;
+        for (double value : mu) {
+            if (value > maxMu) {
+                maxMu = value;
             }
         }
         double sum = 0;
         double length = 0;
-        for (Map.Entry<Double, Double> entry : set.entrySet()) {
-            if (entry.getValue() == maxMu) {
-                sum += entry.getKey();
+        for (int i = 0; i < x.length; i++) {
+            int k = at(i);
+            if (mu[k] == maxMu) {
+                sum += x[k];
                 length++;
             }
         }
         return sum / length;
     }
 
+    /**
+     * Returns a read-only map view of the current fuzzy set. The view iterates in the encounter order of the points.
+     *
+     * @return see description.
+     */
     public Map<Double, Double> getSet() {
         return set;
     }
 
+    /**
+     * Returns a number of points in the current fuzzy set.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns the universe of the current fuzzy set: its keys in ascending order.
+     * Sets created by the same {@link Universe} and results of operations between them share one universe.
+     *
+     * @return see description.
+     */
+    public Universe getUniverse() {
+        Universe result = universe;
+        if (result == null) {
+            result = new Universe(x);
+            universe = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the current and specified sets reference one universe, so operations between them
+     * combine membership values by index without comparing keys.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public boolean hasSameUniverse(FuzzySet anotherSet) {
+        return x == anotherSet.x;
+    }
+
+    /**
+     * Returns an index of the specified key in the sorted arrays, or a negative value if there is no such key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    int indexOf(double key) {
+        return Arrays.binarySearch(x, key);
+    }
+
+    /**
+     * Returns an index in the sorted arrays of the i-th point in the encounter order.
+     *
+     * @param i a position in the encounter order.
+     * @return see description.
+     */
+    final int at(int i) {
+        return order == null ? i : order[i];
+    }
+
+    private static boolean isAscending(double[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (Double.compare(keys[i - 1], keys[i]) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[] keys(Map<Double, Double> set) {
+        double[] result = new double[set.size()];
+        int i = 0;
+        for (Double key : set.keySet()) {
+            result[i++] = key;
+        }
+        return result;
+    }
+
+    private static double[] values(Map<Double, Double> set) {
+        double[] result = new double[set.size()];
+        int i = 0;
+        for (Double value : set.values()) {
+            result[i++] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a class of sets which may be equal to the current one: sets of one family are compared by points.
+     *
+     * @return see description.
+     */
+    Class<? extends FuzzySet> family() {
+        return getClass();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof FuzzySet) || family() != ((FuzzySet) o).family()) return false;
 
         FuzzySet that = (FuzzySet) o;
 
-        return !(set != null ? !set.equals(that.set) : that.set != null);
+        return Arrays.equals(x, that.x) && Arrays.equals(mu, that.mu);
+    }
+
+    /**
+     * Returns a hash code of the points. It's cached until the set is changed: {@link #normalize()},
+     * the in-place operations, {@link #fill(double)} and the {@code *Into} operations writing to the set
+     * drop the cache together with the other derived properties. A set must not be changed while it's a key
+     * of a hash map.
+     *
+     * @return see description.
+     */
+    @Override
+    public int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = 31 * Arrays.hashCode(x) + Arrays.hashCode(mu);
+            hash = result;
+        }
+        return result;
     }
 
     @Override
@@ -687,4 +1259,89 @@ public class FuzzySet {
             ", stretching=" + stretching +
             '}';
     }
+
+    /**
+     * Returns a read-only map view of the specified function of membership values, iterating in the encounter order.
+     *
+     * @param function a function of a membership value.
+     * @return see description.
+     */
+    Map<Double, Double> view(DoubleUnaryOperator function) {
+        return new MapView(function);
+    }
+
+    /**
+     * Read-only map view over the primitive arrays, iterating in the encounter order.
+     */
+    private final class MapView extends AbstractMap<Double, Double> {
+
+        /**
+         * Function applied to membership values, or null.
+         */
+        private final DoubleUnaryOperator function;
+        private Set<Entry<Double, Double>> entrySet;
+
+        MapView(DoubleUnaryOperator function) {
+            this.function = function;
+        }
+
+        private double value(int i) {
+            return function == null ? mu[i] : function.applyAsDouble(mu[i]);
+        }
+
+        @Override
+        public int size() {
+            return x.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Double && indexOf((Double) key) >= 0;
+        }
+
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof Double)) {
+                return null;
+            }
+            int i = indexOf((Double) key);
+            return i >= 0 ? value(i) : null;
+        }
+
+        @Override
+        public Set<Entry<Double, Double>> entrySet() {
+            Set<Entry<Double, Double>> result = entrySet;
+            if (result == null) {
+                result = new AbstractSet<Entry<Double, Double>>() {
+                    @Override
+                    public Iterator<Entry<Double, Double>> iterator() {
+                        return new Iterator<Entry<Double, Double>>() {
+                            private int i;
+
+                            @Override
+                            public boolean hasNext() {
+                                return i < x.length;
+                            }
+
+                            @Override
+                            public Entry<Double, Double> next() {
+                                if (i >= x.length) {
+                                    throw new NoSuchElementException();
+                                }
+                                int k = at(i++);
+                                return new SimpleImmutableEntry<>(x[k], value(k));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return x.length;
+                    }
+                };
+                entrySet = result;
+            }
+            return result;
+        }
+    }
 }
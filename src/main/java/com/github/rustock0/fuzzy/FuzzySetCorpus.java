@@ -0,0 +1,306 @@
+package com.github.rustock0.fuzzy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binary file of fuzzy sets and fuzzy numbers which is memory-mapped on reading.
+ * <p>
+ * All values are little-endian. The file starts with a 16-byte header: magic number, format version,
+ * number of sets and a reserved int. The header is followed by a table of 32-byte entries, one per set:
+ * kind (0 for {@link FuzzySet}, 1 for {@link FuzzyNumber}), number of points, and offsets of the key section,
+ * the membership section and the encounter order section (0 if the points were given in key order).
+ * Sections are aligned to 8 bytes. Sets with equal keys share one key section, so a universe is stored once.
+ * <p>
+ * A reader maps the whole file and creates nothing until a set is requested: {@link #getView(int)} returns
+ * a zero-copy {@link OffHeapFuzzySet} over the mapping, {@link #get(int)} copies a set to the heap.
+ * Sets loaded from one universe share one key array. Mapped pages are kept in the OS page cache and
+ * are shared by all processes reading the file. Files are limited to 2 GB.
+ * Sets may be requested from several threads at once, but not concurrently with {@link #close()}.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class FuzzySetCorpus implements Closeable {
+
+    static final int MAGIC = 0x46_5A_53_43;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_SIZE = 32;
+
+    private static final int FUZZY_SET = 0;
+    private static final int FUZZY_NUMBER = 1;
+
+    private final int size;
+    private final Map<Long, double[]> universes = new ConcurrentHashMap<>();
+    private ByteBuffer mapping;
+
+    private FuzzySetCorpus(ByteBuffer mapping, int size) {
+        this.mapping = mapping;
+        this.size = size;
+    }
+
+    /**
+     * Writes the specified sets to a file, replacing its content.
+     *
+     * @param path a file.
+     * @param sets fuzzy sets and fuzzy numbers.
+     * @throws IOException if the file can't be written.
+     */
+    public static void write(Path path, List<? extends FuzzySet> sets) throws IOException {
+        long[][] entries = new long[sets.size()][];
+        Map<Universe, Long> keySections = new HashMap<>();
+        long end = HEADER_SIZE + (long) ENTRY_SIZE * sets.size();
+        for (int i = 0; i < entries.length; i++) {
+            FuzzySet fuzzySet = sets.get(i);
+            long bytes = (long) fuzzySet.size() * Double.BYTES;
+            Universe universe = new Universe(fuzzySet.x);
+            Long keys = keySections.get(universe);
+            if (keys == null) {
+                keys = end;
+                keySections.put(universe, keys);
+                end += bytes;
+            }
+            long membership = end;
+            end += bytes;
+            long order = 0;
+            if (fuzzySet.order != null) {
+                order = end;
+                end += align((long) fuzzySet.size() * Integer.BYTES);
+            }
+            entries[i] = new long[]{keys, membership, order};
+        }
+        if (end > Integer.MAX_VALUE) {
+            throw new IOException("Corpus is too large: " + end + " bytes");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, end);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            write(buffer, sets, entries);
+            buffer.force();
+        }
+    }
+
+    private static void write(ByteBuffer buffer, List<? extends FuzzySet> sets, long[][] entries) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(sets.size()).putInt(0);
+        for (int i = 0; i < entries.length; i++) {
+            FuzzySet fuzzySet = sets.get(i);
+            buffer.putInt(fuzzySet instanceof FuzzyNumber ? FUZZY_NUMBER : FUZZY_SET).putInt(fuzzySet.size())
+                .putLong(entries[i][0]).putLong(entries[i][1]).putLong(entries[i][2]);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            FuzzySet fuzzySet = sets.get(i);
+            slice(buffer, entries[i][0]).asDoubleBuffer().put(fuzzySet.x);
+            slice(buffer, entries[i][1]).asDoubleBuffer().put(fuzzySet.mu);
+            if (fuzzySet.order != null) {
+                slice(buffer, entries[i][2]).asIntBuffer().put(fuzzySet.order);
+            }
+        }
+    }
+
+    /**
+     * Maps the specified file for reading.
+     *
+     * @param path a file written by {@link #write(Path, List)}.
+     * @return see description.
+     * @throws IOException if the file can't be read, has another format or is corrupted.
+     */
+    public static FuzzySetCorpus open(Path path) throws IOException {
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Corpus is too large: " + channel.size() + " bytes");
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapping.order(ByteOrder.LITTLE_ENDIAN);
+        if (mapping.capacity() < HEADER_SIZE || mapping.getInt(0) != MAGIC) {
+            throw new IOException("Not a fuzzy set corpus: " + path);
+        }
+        if (mapping.getInt(4) != VERSION) {
+            throw new IOException("Unsupported corpus version: " + mapping.getInt(4));
+        }
+        int size = mapping.getInt(8);
+        if (size < 0 || HEADER_SIZE + (long) ENTRY_SIZE * size > mapping.capacity()) {
+            throw new IOException("Corrupted corpus: " + path);
+        }
+        for (int i = 0; i < size; i++) {
+            checkEntry(mapping, size, i, path);
+        }
+        return new FuzzySetCorpus(mapping, size);
+    }
+
+    /**
+     * Checks that the kind of the specified entry is known and its sections are within the file, after the table.
+     */
+    private static void checkEntry(ByteBuffer mapping, int size, int i, Path path) throws IOException {
+        int entry = HEADER_SIZE + ENTRY_SIZE * i;
+        int kind = mapping.getInt(entry);
+        int points = mapping.getInt(entry + 4);
+        if (kind != FUZZY_SET && kind != FUZZY_NUMBER || points < 0) {
+            throw new IOException("Corrupted corpus: invalid entry " + i + " in " + path);
+        }
+        long start = HEADER_SIZE + (long) ENTRY_SIZE * size;
+        long orderOffset = mapping.getLong(entry + 24);
+        if (!isSection(mapping.getLong(entry + 8), (long) points * Double.BYTES, start, mapping.capacity())
+            || !isSection(mapping.getLong(entry + 16), (long) points * Double.BYTES, start, mapping.capacity())
+            || orderOffset != 0 && !isSection(orderOffset, (long) points * Integer.BYTES, start, mapping.capacity())) {
+            throw new IOException("Corrupted corpus: section of entry " + i + " is out of " + path);
+        }
+    }
+
+    private static boolean isSection(long offset, long bytes, long start, long capacity) {
+        return offset >= start && offset % 8 == 0 && offset <= capacity - bytes;
+    }
+
+    /**
+     * Returns a number of sets in the corpus.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the specified set was written as a {@link FuzzyNumber}.
+     *
+     * @param i a position of the set.
+     * @return see description.
+     */
+    public boolean isFuzzyNumber(int i) {
+        return mapping().getInt(entry(i)) == FUZZY_NUMBER;
+    }
+
+    /**
+     * Returns a zero-copy view of the specified set over the mapped file. Points of the view are in key order.
+     *
+     * @param i a position of the set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getView(int i) {
+        ByteBuffer mapping = mapping();
+        int entry = entry(i);
+        int points = mapping.getInt(entry + 4);
+        return OffHeapFuzzySet.view(doubles(mapping, mapping.getLong(entry + 8), points),
+            doubles(mapping, mapping.getLong(entry + 16), points));
+    }
+
+    /**
+     * Copies the specified set to the heap. A set is created lazily, as a {@link FuzzyNumber} if it was written as one.
+     * Sets over one universe share one key array. Contents are validated before a set is created: keys must be
+     * strictly ascending, membership values must be between 0 and 1, and the encounter order must be a permutation.
+     * Keys are validated once per universe, when the key array is cached.
+     *
+     * @param i a position of the set.
+     * @return see description.
+     * @throws IllegalStateException if the contents of the set are corrupted.
+     */
+    public FuzzySet get(int i) {
+        ByteBuffer mapping = mapping();
+        int entry = entry(i);
+        int points = mapping.getInt(entry + 4);
+        long keys = mapping.getLong(entry + 8);
+        double[] x = universes.computeIfAbsent(keys, offset -> {
+            double[] result = new double[points];
+            doubles(mapping, offset, points).get(result);
+            for (int k = 1; k < points; k++) {
+                if (!(result[k - 1] < result[k])) {
+                    throw corrupted(i, "keys are not strictly ascending at point " + k);
+                }
+            }
+            if (points == 1 && Double.isNaN(result[0])) {
+                throw corrupted(i, "key is NaN");
+            }
+            return result;
+        });
+        if (x.length != points) {
+            throw corrupted(i, "universe of " + x.length + " keys is shared by " + points + " points");
+        }
+        double[] mu = new double[points];
+        doubles(mapping, mapping.getLong(entry + 16), points).get(mu);
+        for (int k = 0; k < points; k++) {
+            if (!(mu[k] >= 0 && mu[k] <= 1)) {
+                throw corrupted(i, "membership " + mu[k] + " at point " + k + " is out of [0;1]");
+            }
+        }
+        int[] order = null;
+        long orderOffset = mapping.getLong(entry + 24);
+        if (orderOffset != 0) {
+            order = new int[points];
+            IntBuffer source = slice(mapping, orderOffset).asIntBuffer();
+            source.get(order);
+            checkPermutation(order, i);
+        }
+        return mapping.getInt(entry) == FUZZY_NUMBER ? new FuzzyNumber(x, mu, order) : new FuzzySet(x, mu, order);
+    }
+
+    private static void checkPermutation(int[] order, int i) {
+        boolean[] seen = new boolean[order.length];
+        for (int k = 0; k < order.length; k++) {
+            int index = order[k];
+            if (index < 0 || index >= order.length || seen[index]) {
+                throw corrupted(i, "encounter order is not a permutation at position " + k);
+            }
+            seen[index] = true;
+        }
+    }
+
+    private static IllegalStateException corrupted(int i, String reason) {
+        return new IllegalStateException("Corrupted corpus: entry " + i + ", " + reason);
+    }
+
+    /**
+     * Releases the corpus. Views which were already returned stay valid until they're collected.
+     */
+    @Override
+    public void close() {
+        mapping = null;
+        universes.clear();
+    }
+
+    private ByteBuffer mapping() {
+        ByteBuffer result = mapping;
+        if (result == null) {
+            throw new IllegalStateException("Corpus is closed");
+        }
+        return result;
+    }
+
+    private int entry(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Invalid set: " + i + ", size: " + size);
+        }
+        return HEADER_SIZE + ENTRY_SIZE * i;
+    }
+
+    private static DoubleBuffer doubles(ByteBuffer buffer, long offset, int length) {
+        DoubleBuffer result = slice(buffer, offset).asDoubleBuffer();
+        // cast keeps the Java 8 signature of Buffer#limit(int)
+        ((Buffer) result).limit(length);
+        return result;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, long offset) {
+        ByteBuffer result = buffer.duplicate();
+        ((Buffer) result).position((int) offset);
+        return result.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,325 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Vantage-point tree over fuzzy sets for k-nearest-neighbour and range queries.
+ * <p>
+ * Every node keeps a vantage set and the median distance from it to the sets below:
+ * closer sets go to the inside subtree, the others go to the outside subtree. Sets at exactly the median
+ * distance are split between both subtrees, so many equal sets don't make the tree degenerate.
+ * Queries skip a subtree when the triangle inequality proves that it cannot contain
+ * a better match. Hamming distance is a metric for any sets; Euclidean distance is a metric
+ * for sets of equal size, e.g. sets over one universe. For other sets the results are approximate.
+ * <p>
+ * The index is not thread-safe.
+ *
+ * @author Evgeny Mironenko
+ */
+public class FuzzySetIndex {
+
+    private static final int LEAF_SIZE = 8;
+
+    /**
+     * Supported distances.
+     */
+    public enum Metric {
+        HAMMING {
+            @Override
+            public double distance(FuzzySet first, FuzzySet second) {
+                return first.getHammingDistance(second);
+            }
+        },
+        EUCLIDEAN {
+            @Override
+            public double distance(FuzzySet first, FuzzySet second) {
+                return first.getEuclideanDistance(second);
+            }
+        };
+
+        /**
+         * Returns a distance between the specified sets.
+         *
+         * @param first  a first fuzzy set.
+         * @param second a second fuzzy set.
+         * @return see description.
+         */
+        public abstract double distance(FuzzySet first, FuzzySet second);
+    }
+
+    /**
+     * A fuzzy set found by a query together with its distance to the query set.
+     */
+    public static final class Neighbor {
+
+        private final FuzzySet set;
+        private final double distance;
+
+        Neighbor(FuzzySet set, double distance) {
+            this.set = set;
+            this.distance = distance;
+        }
+
+        public FuzzySet getSet() {
+            return set;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        @Override
+        public String toString() {
+            return "Neighbor{" +
+                "distance=" + distance +
+                ", set=" + set.getSet() +
+                '}';
+        }
+    }
+
+    private static final Comparator<Neighbor> BY_DISTANCE = Comparator.comparingDouble(Neighbor::getDistance);
+
+    private final Metric metric;
+    private final Random random = new Random(0);
+    private Node root;
+    private int size;
+
+    public FuzzySetIndex(Metric metric) {
+        this.metric = metric;
+    }
+
+    /**
+     * Creates an index over the specified sets. The tree is built top-down, so it's balanced.
+     *
+     * @param metric a distance.
+     * @param sets   fuzzy sets.
+     */
+    public FuzzySetIndex(Metric metric, Collection<? extends FuzzySet> sets) {
+        this(metric);
+        root = build(new ArrayList<>(sets));
+        size = sets.size();
+    }
+
+    /**
+     * Adds the specified set to the index.
+     *
+     * @param fuzzySet a fuzzy set.
+     */
+    public void add(FuzzySet fuzzySet) {
+        size++;
+        if (root == null) {
+            root = new Node(new ArrayList<>(Collections.singletonList(fuzzySet)));
+            return;
+        }
+        Node node = root;
+        while (node.bucket == null) {
+            double distance = metric.distance(fuzzySet, node.vantage);
+            boolean inside = distance < node.radius || distance == node.radius && random.nextBoolean();
+            Node next = inside ? node.inside : node.outside;
+            if (next == null) {
+                next = new Node(new ArrayList<>());
+                if (inside) {
+                    node.inside = next;
+                } else {
+                    node.outside = next;
+                }
+            }
+            node = next;
+        }
+        node.bucket.add(fuzzySet);
+        if (node.bucket.size() > LEAF_SIZE) {
+            Node subtree = build(node.bucket);
+            node.bucket = subtree.bucket;
+            node.vantage = subtree.vantage;
+            node.radius = subtree.radius;
+            node.inside = subtree.inside;
+            node.outside = subtree.outside;
+        }
+    }
+
+    /**
+     * Returns a number of sets in the index.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a number of levels of the tree, 0 for an empty index.
+     *
+     * @return see description.
+     */
+    int depth() {
+        return depth(root);
+    }
+
+    private static int depth(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return 1 + Math.max(depth(node.inside), depth(node.outside));
+    }
+
+    /**
+     * Returns at most k sets nearest to the specified one, sorted by distance.
+     *
+     * @param query a query set.
+     * @param k     a number of neighbours.
+     * @return see description.
+     */
+    public List<Neighbor> nearest(FuzzySet query, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Invalid number of neighbours: " + k);
+        }
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(k, BY_DISTANCE.reversed());
+        nearest(root, query, k, best);
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    private void nearest(Node node, FuzzySet query, int k, PriorityQueue<Neighbor> best) {
+        if (node == null) {
+            return;
+        }
+        if (node.bucket != null) {
+            for (FuzzySet fuzzySet : node.bucket) {
+                offer(best, k, fuzzySet, metric.distance(query, fuzzySet));
+            }
+            return;
+        }
+        double distance = metric.distance(query, node.vantage);
+        offer(best, k, node.vantage, distance);
+        boolean inside = distance <= node.radius;
+        nearest(inside ? node.inside : node.outside, query, k, best);
+        double tau = best.size() < k ? Double.POSITIVE_INFINITY : best.peek().getDistance();
+        if (inside && distance + tau >= node.radius) {
+            nearest(node.outside, query, k, best);
+        } else if (!inside && distance - tau <= node.radius) {
+            nearest(node.inside, query, k, best);
+        }
+    }
+
+    private void offer(PriorityQueue<Neighbor> best, int k, FuzzySet fuzzySet, double distance) {
+        if (best.size() < k) {
+            best.add(new Neighbor(fuzzySet, distance));
+        } else if (distance < best.peek().getDistance()) {
+            best.poll();
+            best.add(new Neighbor(fuzzySet, distance));
+        }
+    }
+
+    /**
+     * Returns all sets within the specified distance of the specified one, sorted by distance.
+     *
+     * @param query  a query set.
+     * @param radius a maximum distance, inclusive.
+     * @return see description.
+     */
+    public List<Neighbor> range(FuzzySet query, double radius) {
+        List<Neighbor> result = new ArrayList<>();
+        range(root, query, radius, result);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    private void range(Node node, FuzzySet query, double radius, List<Neighbor> result) {
+        if (node == null) {
+            return;
+        }
+        if (node.bucket != null) {
+            for (FuzzySet fuzzySet : node.bucket) {
+                double distance = metric.distance(query, fuzzySet);
+                if (distance <= radius) {
+                    result.add(new Neighbor(fuzzySet, distance));
+                }
+            }
+            return;
+        }
+        double distance = metric.distance(query, node.vantage);
+        if (distance <= radius) {
+            result.add(new Neighbor(node.vantage, distance));
+        }
+        if (distance - radius <= node.radius) {
+            range(node.inside, query, radius, result);
+        }
+        if (distance + radius >= node.radius) {
+            range(node.outside, query, radius, result);
+        }
+    }
+
+    /**
+     * Builds a subtree over the specified sets.
+     *
+     * @param sets fuzzy sets.
+     * @return see description.
+     */
+    private Node build(List<FuzzySet> sets) {
+        if (sets.isEmpty()) {
+            return null;
+        }
+        if (sets.size() <= LEAF_SIZE) {
+            return new Node(new ArrayList<>(sets));
+        }
+        int vantageIndex = random.nextInt(sets.size());
+        FuzzySet vantage = sets.get(vantageIndex);
+        List<FuzzySet> others = new ArrayList<>(sets.size() - 1);
+        for (int i = 0; i < sets.size(); i++) {
+            if (i != vantageIndex) {
+                others.add(sets.get(i));
+            }
+        }
+        double[] distances = new double[others.size()];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = metric.distance(others.get(i), vantage);
+        }
+        double[] sorted = distances.clone();
+        Arrays.sort(sorted);
+        double radius = sorted[(sorted.length - 1) / 2];
+        List<FuzzySet> inside = new ArrayList<>();
+        List<FuzzySet> outside = new ArrayList<>();
+        List<FuzzySet> ties = new ArrayList<>();
+        for (int i = 0; i < distances.length; i++) {
+            if (distances[i] == radius) {
+                ties.add(others.get(i));
+            } else {
+                (distances[i] < radius ? inside : outside).add(others.get(i));
+            }
+        }
+        int half = (others.size() + 1) / 2;
+        for (FuzzySet tie : ties) {
+            (inside.size() < half ? inside : outside).add(tie);
+        }
+        Node node = new Node(null);
+        node.vantage = vantage;
+        node.radius = radius;
+        node.inside = build(inside);
+        node.outside = build(outside);
+        return node;
+    }
+
+    /**
+     * Node of the tree: either a leaf with a bucket of sets or a vantage point with two subtrees.
+     */
+    private static final class Node {
+
+        List<FuzzySet> bucket;
+        FuzzySet vantage;
+        double radius;
+        Node inside;
+        Node outside;
+
+        Node(List<FuzzySet> bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
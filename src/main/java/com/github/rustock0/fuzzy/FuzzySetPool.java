@@ -0,0 +1,244 @@
+package com.github.rustock0.fuzzy;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Interning pool of fuzzy sets with a memoization cache of binary operations.
+ * <p>
+ * {@link #intern(FuzzySet)} returns one canonical immutable instance for all equal sets. The pool references
+ * canonical sets weakly, so a set is dropped as soon as nobody else uses it. Operations are memoized
+ * on canonical operands and the operation instance, compared by identity: results of recent operations
+ * are kept in a bounded cache which evicts the least recently used one. Results are interned too,
+ * so chains of operations over equal sets are calculated once.
+ * <p>
+ * The pool is thread-safe. Parametric norms such as {@link TNorm#hamacher(double)} create a new instance
+ * on every call: keep one instance to get cache hits.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class FuzzySetPool {
+
+    private final ConcurrentMap<WeakKey, WeakKey> canonical = new ConcurrentHashMap<>();
+    private final ReferenceQueue<FuzzySet> collected = new ReferenceQueue<>();
+    private final Map<Operation, ImmutableFuzzySet> results;
+
+    /**
+     * Creates a pool.
+     *
+     * @param cacheSize a maximum number of memoized results, 0 disables memoization.
+     */
+    public FuzzySetPool(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid cache size: " + cacheSize);
+        }
+        this.results = new LinkedHashMap<Operation, ImmutableFuzzySet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Operation, ImmutableFuzzySet> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the canonical instance of the specified set. The first set of every value is converted
+     * to an {@link ImmutableFuzzySet} and becomes canonical. Sets are equal if they have the same points
+     * in the same encounter order. Only plain fuzzy sets are interned, since a canonical instance must be equal
+     * to the set: subclasses such as {@link FuzzyNumber} are rejected.
+     *
+     * @param fuzzySet a fuzzy set or an immutable fuzzy set.
+     * @return see description.
+     */
+    public ImmutableFuzzySet intern(FuzzySet fuzzySet) {
+        if (fuzzySet.family() != FuzzySet.class) {
+            throw new IllegalArgumentException("Only plain fuzzy sets can be interned: " + fuzzySet.getClass().getSimpleName());
+        }
+        expunge();
+        WeakKey probe = new WeakKey(fuzzySet, null);
+        while (true) {
+            WeakKey existing = canonical.get(probe);
+            if (existing != null) {
+                FuzzySet result = existing.get();
+                if (result != null) {
+                    return (ImmutableFuzzySet) result;
+                }
+                canonical.remove(existing);
+                continue;
+            }
+            ImmutableFuzzySet candidate = fuzzySet.toImmutable();
+            WeakKey key = new WeakKey(candidate, collected);
+            if (canonical.putIfAbsent(key, key) == null) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Returns a number of canonical sets which are still referenced.
+     *
+     * @return see description.
+     */
+    public int size() {
+        expunge();
+        return canonical.size();
+    }
+
+    /**
+     * Returns a memoized union, see {@link FuzzySet#getUnion(FuzzySet, TConorm)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @param conorm a t-conorm.
+     * @return see description.
+     */
+    public ImmutableFuzzySet getUnion(FuzzySet first, FuzzySet second, TConorm conorm) {
+        return apply(conorm, first, second, (a, b) -> a.getUnion(b, conorm));
+    }
+
+    /**
+     * Returns a memoized intersection, see {@link FuzzySet#getIntersection(FuzzySet, TNorm)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @param norm   a t-norm.
+     * @return see description.
+     */
+    public ImmutableFuzzySet getIntersection(FuzzySet first, FuzzySet second, TNorm norm) {
+        return apply(norm, first, second, (a, b) -> a.getIntersection(b, norm));
+    }
+
+    /**
+     * Returns a memoized deduction, see {@link FuzzySet#deduct(FuzzySet, TNorm)}.
+     *
+     * @param first  a fuzzy set to deduct from.
+     * @param second a fuzzy set to deduct.
+     * @param norm   a t-norm.
+     * @return see description.
+     */
+    public ImmutableFuzzySet deduct(FuzzySet first, FuzzySet second, TNorm norm) {
+        return apply(new Deduction(norm), first, second, (a, b) -> a.deduct(b, norm));
+    }
+
+    /**
+     * Returns a memoized result of the specified operation over the canonical instances of the operands.
+     *
+     * @param operation an operation, it identifies results in the cache by identity.
+     * @param first     a first fuzzy set.
+     * @param second    a second fuzzy set.
+     * @return see description.
+     */
+    public ImmutableFuzzySet apply(BinaryOperator<FuzzySet> operation, FuzzySet first, FuzzySet second) {
+        return apply(operation, first, second, operation);
+    }
+
+    private ImmutableFuzzySet apply(Object id, FuzzySet first, FuzzySet second, BinaryOperator<FuzzySet> operation) {
+        ImmutableFuzzySet a = intern(first);
+        ImmutableFuzzySet b = intern(second);
+        Operation key = new Operation(id, a, b);
+        ImmutableFuzzySet result;
+        synchronized (results) {
+            result = results.get(key);
+        }
+        if (result == null) {
+            result = intern(operation.apply(a, b));
+            synchronized (results) {
+                results.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private void expunge() {
+        for (Reference<? extends FuzzySet> reference; (reference = collected.poll()) != null; ) {
+            canonical.remove(reference);
+        }
+    }
+
+    /**
+     * Weak reference to a set which is compared by the family, points and encounter order of the set
+     * while it's alive and by identity after that.
+     */
+    private static final class WeakKey extends WeakReference<FuzzySet> {
+
+        private final int hash;
+
+        WeakKey(FuzzySet fuzzySet, ReferenceQueue<FuzzySet> queue) {
+            super(fuzzySet, queue);
+            this.hash = 31 * fuzzySet.hashCode() + Arrays.hashCode(fuzzySet.order);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WeakKey) || hash != ((WeakKey) o).hash) return false;
+            FuzzySet fuzzySet = get();
+            FuzzySet another = ((WeakKey) o).get();
+            return fuzzySet != null && another != null && fuzzySet.family() == another.family()
+                && Arrays.equals(fuzzySet.x, another.x) && Arrays.equals(fuzzySet.mu, another.mu)
+                && Arrays.equals(fuzzySet.order, another.order);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key of a memoized result: an operation and canonical operands, all compared by identity.
+     */
+    private static final class Operation {
+
+        private final Object id;
+        private final FuzzySet first;
+        private final FuzzySet second;
+
+        Operation(Object id, FuzzySet first, FuzzySet second) {
+            this.id = id;
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Operation)) return false;
+            Operation that = (Operation) o;
+            return id.equals(that.id) && first == that.first && second == that.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * id.hashCode() + System.identityHashCode(first)) + System.identityHashCode(second);
+        }
+    }
+
+    /**
+     * Identifies a deduction with the specified norm, so it isn't mixed up with an intersection.
+     */
+    private static final class Deduction {
+
+        private final TNorm norm;
+
+        Deduction(TNorm norm) {
+            this.norm = norm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Deduction && ((Deduction) o).norm == norm;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(norm) + 1;
+        }
+    }
+}
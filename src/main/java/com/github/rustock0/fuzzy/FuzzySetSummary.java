@@ -0,0 +1,167 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Descriptive properties of a fuzzy set calculated together in a single pass over its points:
+ * height, cardinality (sum of memberships), entropy, core, support, transition points and the nearest clear set.
+ * A summary is immutable: all lists are unmodifiable, so it may be shared between threads.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class FuzzySetSummary {
+
+    private static final double LOG_2 = Math.log(2);
+    private static final double LOG2_6 = Math.log(6) / LOG_2;
+
+    private final double height;
+    private final double sum;
+    private final double entropy;
+    private final List<Double> core;
+    private final List<Double> transitionPoint;
+    private final List<Double> support;
+    private final List<Integer> nearestClearSet;
+
+    private FuzzySetSummary(double height, double sum, double entropy, List<Double> core, List<Double> transitionPoint,
+                            List<Double> support, List<Integer> nearestClearSet) {
+        this.height = height;
+        this.sum = sum;
+        this.entropy = entropy;
+        this.core = core;
+        this.transitionPoint = transitionPoint;
+        this.support = support;
+        this.nearestClearSet = nearestClearSet;
+    }
+
+    /**
+     * Calculates a summary of the specified fuzzy set. Points are visited in the encounter order.
+     * <p>
+     * Entropy is accumulated in the same pass using the identity
+     * sum(p * log(p)) = sum(mu * log(mu)) / S - log(S), where p = mu / S and S is the sum of memberships.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    static FuzzySetSummary of(FuzzySet fuzzySet) {
+        double[] x = fuzzySet.x;
+        double[] mu = fuzzySet.mu;
+        List<Double> core = new ArrayList<>();
+        List<Double> transitionPoint = new ArrayList<>();
+        List<Double> support = new ArrayList<>();
+        List<Integer> nearestClearSet = new ArrayList<>(mu.length);
+        double height = 0.0;
+        double sum = 0.0;
+        double muLogMu = 0.0;
+        for (int i = 0; i < mu.length; i++) {
+            int k = fuzzySet.at(i);
+            double value = mu[k];
+            if (value > height) {
+                height = value;
+            }
+            sum += value;
+            if (value > 0.0) {
+                support.add(x[k]);
+                muLogMu += value * Math.log(value);
+                if (value == 1.0) {
+                    core.add(x[k]);
+                } else if (value == 0.5) {
+                    transitionPoint.add(x[k]);
+                }
+            }
+            nearestClearSet.add(value > 0.5 ? 1 : 0);
+        }
+        return new FuzzySetSummary(height, sum, entropy(sum, muLogMu), Collections.unmodifiableList(core),
+            Collections.unmodifiableList(transitionPoint), Collections.unmodifiableList(support),
+            Collections.unmodifiableList(nearestClearSet));
+    }
+
+    /**
+     * Returns an entropy of a set with the specified sums.
+     *
+     * @param sum     a sum of membership values.
+     * @param muLogMu a sum of mu * log(mu) over the support.
+     * @return see description.
+     */
+    static double entropy(double sum, double muLogMu) {
+        double pLogP = (muLogMu / sum - Math.log(sum)) / LOG_2;
+        return (-1 * pLogP) / LOG2_6;
+    }
+
+    /**
+     * Returns a height "supremum(set)".
+     *
+     * @return see description.
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns a sum of all membership values (scalar cardinality).
+     *
+     * @return see description.
+     */
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns an entropy.
+     *
+     * @return see description.
+     */
+    public double getEntropy() {
+        return entropy;
+    }
+
+    /**
+     * Returns a core.
+     *
+     * @return see description.
+     */
+    public List<Double> getCore() {
+        return core;
+    }
+
+    /**
+     * Returns transition points.
+     *
+     * @return see description.
+     */
+    public List<Double> getTransitionPoint() {
+        return transitionPoint;
+    }
+
+    /**
+     * Returns a support.
+     *
+     * @return see description.
+     */
+    public List<Double> getSupport() {
+        return support;
+    }
+
+    /**
+     * Returns a nearest clear set.
+     *
+     * @return see description.
+     */
+    public List<Integer> getNearestClearSet() {
+        return nearestClearSet;
+    }
+
+    @Override
+    public String toString() {
+        return "FuzzySetSummary{" +
+            "height=" + height +
+            ", sum=" + sum +
+            ", entropy=" + entropy +
+            ", core=" + core +
+            ", transitionPoint=" + transitionPoint +
+            ", support=" + support +
+            ", nearestClearSet=" + nearestClearSet +
+            '}';
+    }
+}
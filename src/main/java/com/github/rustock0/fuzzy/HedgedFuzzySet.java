@@ -0,0 +1,197 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Linguistic hedge of a fuzzy set: a lazy view which applies a function to every membership value of the source set.
+ * <p>
+ * A view doesn't copy anything: membership values are read from the source set and hedged on every access,
+ * so the view follows {@link FuzzySet#normalize()} of the source. Hedges compose, e.g.
+ * {@code set.not().very()} is "very not set", i.e. (1 - mu)^2. {@link #toFuzzySet()} materializes the view
+ * into a set over the keys of the source, applying the hedges one by one to the whole array: "not", "very"
+ * and "somewhat" use the bulk complement, square and square root kernels, only other powers use {@link Math#pow}.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class HedgedFuzzySet {
+
+    private static final DoubleUnaryOperator COMPLEMENT = value -> 1 - value;
+    private static final DoubleUnaryOperator SQUARE = value -> value * value;
+    private static final DoubleUnaryOperator SQRT = Math::sqrt;
+
+    private final FuzzySet source;
+    /**
+     * Hedges in the order of application.
+     */
+    private final DoubleUnaryOperator[] steps;
+    /**
+     * Composition of all steps.
+     */
+    private final DoubleUnaryOperator hedge;
+    private Map<Double, Double> set;
+
+    HedgedFuzzySet(FuzzySet source, DoubleUnaryOperator hedge) {
+        this(source, new DoubleUnaryOperator[]{hedge}, hedge);
+    }
+
+    private HedgedFuzzySet(FuzzySet source, DoubleUnaryOperator[] steps, DoubleUnaryOperator hedge) {
+        this.source = source;
+        this.steps = steps;
+        this.hedge = hedge;
+    }
+
+    /**
+     * Returns a function of a membership value, i.e. mu^p.
+     *
+     * @param p a positive exponent.
+     * @return see description.
+     */
+    static DoubleUnaryOperator powerOf(double p) {
+        if (!(p > 0) || Double.isInfinite(p)) {
+            throw new IllegalArgumentException("Invalid exponent: " + p);
+        }
+        if (p == 2) {
+            return SQUARE;
+        }
+        if (p == 0.5) {
+            return SQRT;
+        }
+        return value -> Math.pow(value, p);
+    }
+
+    /**
+     * Returns a function of a membership value, i.e. 1 - mu.
+     *
+     * @return see description.
+     */
+    static DoubleUnaryOperator complement() {
+        return COMPLEMENT;
+    }
+
+    /**
+     * Returns "very" hedge of the current view (concentration, mu^2).
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet very() {
+        return power(2);
+    }
+
+    /**
+     * Returns "somewhat" hedge of the current view (stretching, sqrt(mu)).
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet somewhat() {
+        return power(0.5);
+    }
+
+    /**
+     * Returns "not" hedge of the current view (addition, 1 - mu).
+     *
+     * @return see description.
+     */
+    public HedgedFuzzySet not() {
+        return andThen(complement());
+    }
+
+    /**
+     * Returns a power hedge of the current view, i.e. mu^p.
+     *
+     * @param p a positive exponent.
+     * @return see description.
+     */
+    public HedgedFuzzySet power(double p) {
+        return andThen(powerOf(p));
+    }
+
+    private HedgedFuzzySet andThen(DoubleUnaryOperator next) {
+        DoubleUnaryOperator[] result = Arrays.copyOf(steps, steps.length + 1);
+        result[steps.length] = next;
+        return new HedgedFuzzySet(source, result, hedge.andThen(next));
+    }
+
+    /**
+     * Returns a source fuzzy set.
+     *
+     * @return see description.
+     */
+    public FuzzySet getSource() {
+        return source;
+    }
+
+    /**
+     * Returns a number of points.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Returns a hedged membership value of the specified key.
+     *
+     * @param key a key of the source set.
+     * @return see description.
+     */
+    public double getMembership(double key) {
+        int i = source.indexOf(key);
+        if (i < 0) {
+            throw new IllegalArgumentException("Key " + key + " is out of the set");
+        }
+        return hedge.applyAsDouble(source.mu[i]);
+    }
+
+    /**
+     * Returns a read-only map view of hedged membership values, iterating in the encounter order of the source.
+     *
+     * @return see description.
+     */
+    public Map<Double, Double> getSet() {
+        Map<Double, Double> result = set;
+        if (result == null) {
+            result = source.view(hedge);
+            set = result;
+        }
+        return result;
+    }
+
+    /**
+     * Calculates hedged membership values and returns a lazy fuzzy set of them over the keys of the source.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        double[] result = new double[source.mu.length];
+        double[] values = source.mu;
+        for (DoubleUnaryOperator step : steps) {
+            apply(step, values, result);
+            values = result;
+        }
+        return new FuzzySet(source.x, result, source.order);
+    }
+
+    private static void apply(DoubleUnaryOperator step, double[] values, double[] result) {
+        if (step == COMPLEMENT) {
+            Kernels.get().complement(values, result);
+        } else if (step == SQUARE) {
+            Kernels.get().square(values, result);
+        } else if (step == SQRT) {
+            Kernels.get().sqrt(values, result);
+        } else {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = step.applyAsDouble(values[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HedgedFuzzySet{" +
+            "set=" + getSet() +
+            '}';
+    }
+}
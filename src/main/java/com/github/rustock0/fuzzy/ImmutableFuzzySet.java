@@ -0,0 +1,99 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Map;
+
+/**
+ * Fuzzy set which is never modified and can be shared between threads without locking.
+ * <p>
+ * Derived properties are calculated on first access and cached with racy single-check: a field is read once,
+ * and if it's empty the property is calculated and stored. Every cached object is immutable and reachable only
+ * through final fields (boxed values, {@link FuzzySetSummary} and its unmodifiable lists), so a thread seeing
+ * a reference also sees a fully built object. Concurrent readers may calculate a property more than once,
+ * but always get equal results. {@link #normalize()} returns a new set instead of modifying the current one.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class ImmutableFuzzySet extends FuzzySet {
+
+    private Sums cumulative;
+
+    public ImmutableFuzzySet(Map<Double, Double> set) {
+        super(set, false);
+    }
+
+    /**
+     * Creates an immutable fuzzy set from the specified points. Keys may be given in any order, but must be unique.
+     *
+     * @param x  keys of the points.
+     * @param mu membership values of the points.
+     */
+    public ImmutableFuzzySet(double[] x, double[] mu) {
+        super(x, mu, true, false);
+    }
+
+    /**
+     * Creates an immutable fuzzy set over arrays which are owned by it.
+     *
+     * @param x     sorted keys.
+     * @param mu    membership values aligned with the keys.
+     * @param order encounter order or null.
+     */
+    ImmutableFuzzySet(double[] x, double[] mu, int[] order) {
+        super(x, mu, order);
+    }
+
+    @Override
+    double[] cumulative() {
+        Sums result = cumulative;
+        if (result == null) {
+            result = new Sums(prefixSums(mu));
+            cumulative = result;
+        }
+        return result.values;
+    }
+
+    /**
+     * Returns a normalized copy of the current fuzzy set, or the current set if it's already normal.
+     *
+     * @return a normalized fuzzy set.
+     */
+    @Override
+    public ImmutableFuzzySet normalize() {
+        double height = getHeight();
+        if (height == 1.0) {
+            return this;
+        }
+        double[] normalized = new double[mu.length];
+        for (int i = 0; i < mu.length; i++) {
+            normalized[i] = mu[i] / height;
+        }
+        return new ImmutableFuzzySet(x, normalized, order);
+    }
+
+    @Override
+    void checkMutable() {
+        throw new UnsupportedOperationException("Immutable fuzzy set can't be modified");
+    }
+
+    @Override
+    public ImmutableFuzzySet toImmutable() {
+        return this;
+    }
+
+    @Override
+    Class<? extends FuzzySet> family() {
+        return FuzzySet.class;
+    }
+
+    /**
+     * Final-field holder which publishes the prefix sums safely.
+     */
+    private static final class Sums {
+
+        final double[] values;
+
+        Sums(double[] values) {
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable fuzzy set with point updates which keeps its descriptive properties up to date.
+ * <p>
+ * Points are kept in key order. Every {@link #put(double, double)} and {@link #remove(double)} takes O(log n):
+ * height is the largest key of a multiset of membership values, the sums behind cardinality and entropy
+ * are updated by the changed value, and core and support are counted. Convexity and concavity
+ * are local properties of three adjacent points, so only violations of the triples centered at the changed
+ * point and at its two neighbours are recounted. Sums are compensated, so long sequences of updates
+ * don't accumulate rounding errors. {@link #toFuzzySet()} takes a snapshot in O(n).
+ * <p>
+ * The set is not thread-safe.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class IncrementalFuzzySet {
+
+    private final TreeMap<Double, Double> points = new TreeMap<>();
+    /**
+     * Multiset of membership values: a value and a number of points which have it.
+     */
+    private final TreeMap<Double, Integer> values = new TreeMap<>();
+    private final Sum sum = new Sum();
+    private final Sum muLogMu = new Sum();
+    private int core;
+    private int support;
+    private int convexityViolations;
+    private int concavityViolations;
+
+    /**
+     * Sets a membership value of the specified key, adding the key if it's new.
+     *
+     * @param key   some key.
+     * @param value a number between 0 and 1.
+     */
+    public void put(double key, double value) {
+        if (Double.isNaN(key)) {
+            throw new IllegalArgumentException("Invalid key: " + key);
+        }
+        if (!(value >= 0.0 && value <= 1.0)) {
+            throw new IllegalArgumentException("Invalid membership value: " + value);
+        }
+        countTriples(key, -1);
+        Double previous = points.put(key, value);
+        if (previous != null) {
+            count(previous, -1);
+        }
+        count(value, 1);
+        countTriples(key, 1);
+    }
+
+    /**
+     * Removes the specified key.
+     *
+     * @param key some key.
+     * @return true if the set contained the key.
+     */
+    public boolean remove(double key) {
+        if (!points.containsKey(key)) {
+            return false;
+        }
+        countTriples(key, -1);
+        count(points.remove(key), -1);
+        countTriples(key, 1);
+        return true;
+    }
+
+    /**
+     * Returns true if the set contains the specified key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public boolean contains(double key) {
+        return points.containsKey(key);
+    }
+
+    /**
+     * Returns a membership value of the specified key.
+     *
+     * @param key a key of the set.
+     * @return see description.
+     */
+    public double getMembership(double key) {
+        Double result = points.get(key);
+        if (result == null) {
+            throw new IllegalArgumentException("Key " + key + " is out of the set");
+        }
+        return result;
+    }
+
+    /**
+     * Returns a number of points.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Returns a height "supremum(set)", 0 for an empty set.
+     *
+     * @return see description.
+     */
+    public double getHeight() {
+        return values.isEmpty() ? 0.0 : values.lastKey();
+    }
+
+    /**
+     * Returns a cardinality, i.e. a sum of membership values.
+     *
+     * @return see description.
+     */
+    public double getCardinality() {
+        return sum.get();
+    }
+
+    /**
+     * Returns an entropy, see {@link FuzzySet#getEntropy()}.
+     *
+     * @return see description.
+     */
+    public double getEntropy() {
+        return FuzzySetSummary.entropy(sum.get(), muLogMu.get());
+    }
+
+    /**
+     * Returns a number of points in the core, i.e. with membership 1.
+     *
+     * @return see description.
+     */
+    public int getCoreSize() {
+        return core;
+    }
+
+    /**
+     * Returns a number of points in the support, i.e. with positive membership.
+     *
+     * @return see description.
+     */
+    public int getSupportSize() {
+        return support;
+    }
+
+    /**
+     * Returns true if the set is normal, i.e. its core isn't empty.
+     *
+     * @return see description.
+     */
+    public boolean isNormal() {
+        return core > 0;
+    }
+
+    /**
+     * Returns true if the set is convex, see {@link FuzzySet#isConvex()}.
+     *
+     * @return see description.
+     */
+    public boolean isConvex() {
+        return convexityViolations == 0;
+    }
+
+    /**
+     * Returns true if the set is concave, see {@link FuzzySet#isConcave()}.
+     *
+     * @return see description.
+     */
+    public boolean isConcave() {
+        return concavityViolations == 0;
+    }
+
+    /**
+     * Returns a lazy fuzzy set of the current points in key order.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        double[] x = new double[points.size()];
+        double[] mu = new double[x.length];
+        int i = 0;
+        for (Map.Entry<Double, Double> point : points.entrySet()) {
+            x[i] = point.getKey();
+            mu[i] = point.getValue();
+            i++;
+        }
+        return new FuzzySet(x, mu, null);
+    }
+
+    private void count(double value, int sign) {
+        values.merge(value, sign, (a, b) -> a + b == 0 ? null : a + b);
+        sum.add(sign * value);
+        if (value > 0.0) {
+            muLogMu.add(sign * value * Math.log(value));
+            support += sign;
+            if (value == 1.0) {
+                core += sign;
+            }
+        }
+    }
+
+    /**
+     * Counts violations of the triples centered at the specified key and at its neighbours.
+     */
+    private void countTriples(double key, int sign) {
+        Map.Entry<Double, Double> lower = points.lowerEntry(key);
+        Map.Entry<Double, Double> higher = points.higherEntry(key);
+        if (lower != null) {
+            countTriple(lower, sign);
+        }
+        Map.Entry<Double, Double> center = points.ceilingEntry(key);
+        if (center != null && Double.compare(center.getKey(), key) == 0) {
+            countTriple(center, sign);
+        }
+        if (higher != null) {
+            countTriple(higher, sign);
+        }
+    }
+
+    private void countTriple(Map.Entry<Double, Double> center, int sign) {
+        Map.Entry<Double, Double> left = points.lowerEntry(center.getKey());
+        Map.Entry<Double, Double> right = points.higherEntry(center.getKey());
+        if (left == null || right == null) {
+            return;
+        }
+        double x1 = left.getKey();
+        double mu1 = left.getValue();
+        double x2 = center.getKey();
+        double mu2 = center.getValue();
+        double x3 = right.getKey();
+        double mu3 = right.getValue();
+        double chord = (x3 - x2) / (x3 - x1) * mu1 + (x2 - x1) / (x3 - x1) * mu3;
+        if (!(mu2 >= chord)) {
+            convexityViolations += sign;
+        }
+        if (!(mu2 <= chord)) {
+            concavityViolations += sign;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalFuzzySet{" +
+            "set=" + points +
+            '}';
+    }
+
+    /**
+     * Running sum with Neumaier compensation of rounding errors.
+     */
+    private static final class Sum {
+
+        private double value;
+        private double compensation;
+
+        void add(double term) {
+            double result = value + term;
+            if (Math.abs(value) >= Math.abs(term)) {
+                compensation += (value - result) + term;
+            } else {
+                compensation += (term - result) + value;
+            }
+            value = result;
+        }
+
+        double get() {
+            return value + compensation;
+        }
+    }
+}
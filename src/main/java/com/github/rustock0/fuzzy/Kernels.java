@@ -0,0 +1,143 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Element-wise kernels over primitive membership arrays.
+ * <p>
+ * On JDK 17+ the multi-release jar contains a {@code VectorKernels} implementation based on the
+ * {@code jdk.incubator.vector} API. It's used if the module is resolved at runtime
+ * ({@code --add-modules jdk.incubator.vector}), otherwise the scalar loops are used.
+ * Setting the system property {@code com.github.rustock0.fuzzy.scalar} to true forces the scalar loops.
+ *
+ * @author Evgeny Mironenko
+ */
+abstract class Kernels {
+
+    private static final Kernels INSTANCE = load();
+
+    /**
+     * Returns the best kernels available in the current runtime.
+     *
+     * @return see description.
+     */
+    static Kernels get() {
+        return INSTANCE;
+    }
+
+    private static Kernels load() {
+        if (!Boolean.getBoolean("com.github.rustock0.fuzzy.scalar")) {
+            try {
+                return (Kernels) Class.forName("com.github.rustock0.fuzzy.VectorKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // the vector API isn't available, fall back to the scalar loops
+            }
+        }
+        return new ScalarKernels();
+    }
+
+    /**
+     * result[i] = max(a[i], b[i]) for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void max(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = min(a[i], b[i]) for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void min(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = a[i] * b[i] for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void product(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = a[i] + b[i] - a[i] * b[i] for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void probabilisticSum(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = min(1, a[i] + b[i]) for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void boundedSum(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = max(0, a[i] + b[i] - 1) for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void boundedDifference(double[] a, double[] b, double[] result);
+
+    /**
+     * result[i] = 1 - a[i] for every index of result.
+     *
+     * @param a      values.
+     * @param result destination array.
+     */
+    abstract void complement(double[] a, double[] result);
+
+    /**
+     * result[i] = a[i] * a[i] for every index of result.
+     *
+     * @param a      values.
+     * @param result destination array.
+     */
+    abstract void square(double[] a, double[] result);
+
+    /**
+     * result[i] = sqrt(a[i]) for every index of result.
+     *
+     * @param a      values.
+     * @param result destination array.
+     */
+    abstract void sqrt(double[] a, double[] result);
+
+    /**
+     * result[i] = max(min(a[i], 1 - b[i]), min(1 - a[i], b[i])) for every index of result.
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param result destination array.
+     */
+    abstract void symmetricDifference(double[] a, double[] b, double[] result);
+
+    /**
+     * Returns a sum of |a[i] - b[i]| for i in [0, length).
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param length a number of elements.
+     * @return see description.
+     */
+    abstract double absDifferenceSum(double[] a, double[] b, int length);
+
+    /**
+     * Returns a sum of (a[i] - b[i])^2 for i in [0, length).
+     *
+     * @param a      first values.
+     * @param b      second values.
+     * @param length a number of elements.
+     * @return see description.
+     */
+    abstract double squaredDifferenceSum(double[] a, double[] b, int length);
+}
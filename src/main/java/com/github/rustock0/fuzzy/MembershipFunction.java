@@ -0,0 +1,185 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Parametric membership function of a continuous fuzzy set.
+ * <p>
+ * Membership is calculated on demand, so the function takes constant memory whatever resolution it's used at.
+ * Height, core, support, alpha cuts, area and center of gravity are given in closed form,
+ * {@link ContinuousFuzzySet} answers queries of a set with them. A {@link FuzzySet} with sampled points
+ * is created only on request by {@link #discretize(double, double, int)}.
+ *
+ * @author Evgeny Mironenko
+ */
+public interface MembershipFunction {
+
+    /**
+     * Returns a membership value of the specified key.
+     *
+     * @param x a key.
+     * @return see description.
+     */
+    double apply(double x);
+
+    /**
+     * Calculates membership values of the specified keys: result[i] = apply(x[i]) for every index of result.
+     *
+     * @param x      keys.
+     * @param result destination array.
+     */
+    default void apply(double[] x, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = apply(x[i]);
+        }
+    }
+
+    /**
+     * Returns a height (the supremum of membership values) of the function.
+     *
+     * @return see description.
+     */
+    double getHeight();
+
+    /**
+     * Returns a left bound of the support (keys with positive membership), may be negative infinity.
+     *
+     * @return see description.
+     */
+    double getSupportLeft();
+
+    /**
+     * Returns a right bound of the support (keys with positive membership), may be positive infinity.
+     *
+     * @return see description.
+     */
+    double getSupportRight();
+
+    /**
+     * Returns a left bound of the core (keys with membership 1), or NaN if the core is empty.
+     *
+     * @return see description.
+     */
+    double getCoreLeft();
+
+    /**
+     * Returns a right bound of the core (keys with membership 1), or NaN if the core is empty.
+     *
+     * @return see description.
+     */
+    double getCoreRight();
+
+    /**
+     * Returns bounds of the alpha cut, i.e. of the keys with membership at least alpha: {left, right},
+     * a bound may be infinite. Returns an empty array if no key reaches alpha.
+     *
+     * @param alpha a number greater than 0 and at most 1.
+     * @return see description.
+     */
+    double[] getAlphaCut(double alpha);
+
+    /**
+     * Returns an area under the function, i.e. a cardinality of the continuous set, may be positive infinity.
+     *
+     * @return see description.
+     */
+    double getArea();
+
+    /**
+     * Returns a center of gravity of the function, or NaN if the area is infinite.
+     *
+     * @return see description.
+     */
+    double getCentroid();
+
+    /**
+     * Samples the function at evenly spaced keys and returns a lazy fuzzy set of the samples.
+     *
+     * @param from   a first key.
+     * @param to     a last key.
+     * @param points a number of keys, at least 2.
+     * @return see description.
+     */
+    default FuzzySet discretize(double from, double to, int points) {
+        return discretize(Universe.uniform(from, to, points));
+    }
+
+    /**
+     * Samples the function at the keys of the specified universe and returns a lazy fuzzy set over it.
+     *
+     * @param universe a universe.
+     * @return see description.
+     */
+    default FuzzySet discretize(Universe universe) {
+        double[] mu = new double[universe.size()];
+        apply(universe.x, mu);
+        return new FuzzySet(universe, mu);
+    }
+
+    /**
+     * Samples the function at evenly spaced keys of the closed support and returns a lazy fuzzy set of the samples.
+     *
+     * @param points a number of keys, at least 2.
+     * @return see description.
+     */
+    default FuzzySet discretize(int points) {
+        if (Double.isInfinite(getSupportLeft()) || Double.isInfinite(getSupportRight())) {
+            throw new IllegalStateException("Unbounded support of " + this + ", specify an interval");
+        }
+        return discretize(getSupportLeft(), getSupportRight(), points);
+    }
+
+    /**
+     * Returns a triangular function which rises from 0 at a to 1 at b and falls to 0 at c.
+     *
+     * @param a a left bound of the support.
+     * @param b a peak.
+     * @param c a right bound of the support.
+     * @return see description.
+     */
+    static MembershipFunction triangle(double a, double b, double c) {
+        return trapezoid(a, b, b, c);
+    }
+
+    /**
+     * Returns a trapezoidal function which rises from 0 at a to 1 at b, keeps 1 up to c and falls to 0 at d.
+     *
+     * @param a a left bound of the support.
+     * @param b a left bound of the core.
+     * @param c a right bound of the core.
+     * @param d a right bound of the support.
+     * @return see description.
+     */
+    static MembershipFunction trapezoid(double a, double b, double c, double d) {
+        if (!(a <= b && b <= c && c <= d && a < d) || Double.isInfinite(a) || Double.isInfinite(d)) {
+            throw new IllegalArgumentException("Invalid trapezoid: (" + a + ";" + b + ";" + c + ";" + d + ")");
+        }
+        return new MembershipFunctions.Trapezoid(a, b, c, d);
+    }
+
+    /**
+     * Returns a Gaussian function: exp(-(x - mean)^2 / (2 * sigma^2)).
+     *
+     * @param mean  a peak.
+     * @param sigma a positive width.
+     * @return see description.
+     */
+    static MembershipFunction gaussian(double mean, double sigma) {
+        if (!(sigma > 0) || Double.isInfinite(sigma) || !Double.isFinite(mean)) {
+            throw new IllegalArgumentException("Invalid Gaussian: mean=" + mean + ", sigma=" + sigma);
+        }
+        return new MembershipFunctions.Gaussian(mean, sigma);
+    }
+
+    /**
+     * Returns a sigmoid function: 1 / (1 + exp(-slope * (x - center))).
+     *
+     * @param slope  a non-zero slope, positive for an increasing function.
+     * @param center a key with membership 0.5.
+     * @return see description.
+     */
+    static MembershipFunction sigmoid(double slope, double center) {
+        if (slope == 0 || !Double.isFinite(slope) || !Double.isFinite(center)) {
+            throw new IllegalArgumentException("Invalid sigmoid: slope=" + slope + ", center=" + center);
+        }
+        return new MembershipFunctions.Sigmoid(slope, center);
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Built-in membership functions.
+ *
+ * @author Evgeny Mironenko
+ */
+final class MembershipFunctions {
+
+    private static final double SQRT_2_PI = Math.sqrt(2 * Math.PI);
+
+    private MembershipFunctions() {
+    }
+
+    static void checkAlpha(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("Invalid alpha: " + alpha);
+        }
+    }
+
+    static final class Trapezoid implements MembershipFunction {
+
+        private final double a;
+        private final double b;
+        private final double c;
+        private final double d;
+
+        Trapezoid(double a, double b, double c, double d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+        }
+
+        @Override
+        public double apply(double x) {
+            if (x >= b && x <= c) {
+                return 1;
+            }
+            if (x <= a || x >= d) {
+                return 0;
+            }
+            return x < b ? (x - a) / (b - a) : (d - x) / (d - c);
+        }
+
+        @Override
+        public double getHeight() {
+            return 1;
+        }
+
+        @Override
+        public double getSupportLeft() {
+            return a;
+        }
+
+        @Override
+        public double getSupportRight() {
+            return d;
+        }
+
+        @Override
+        public double getCoreLeft() {
+            return b;
+        }
+
+        @Override
+        public double getCoreRight() {
+            return c;
+        }
+
+        @Override
+        public double[] getAlphaCut(double alpha) {
+            checkAlpha(alpha);
+            return new double[]{a + alpha * (b - a), d - alpha * (d - c)};
+        }
+
+        @Override
+        public double getArea() {
+            return (d + c - a - b) / 2;
+        }
+
+        @Override
+        public double getCentroid() {
+            return (d * d + c * c + c * d - a * a - b * b - a * b) / (3 * (d + c - a - b));
+        }
+
+        @Override
+        public String toString() {
+            return b == c
+                ? "triangle(" + a + ";" + b + ";" + d + ")"
+                : "trapezoid(" + a + ";" + b + ";" + c + ";" + d + ")";
+        }
+    }
+
+    static final class Gaussian implements MembershipFunction {
+
+        private final double mean;
+        private final double sigma;
+        private final double scale;
+
+        Gaussian(double mean, double sigma) {
+            this.mean = mean;
+            this.sigma = sigma;
+            this.scale = -1 / (2 * sigma * sigma);
+        }
+
+        @Override
+        public double apply(double x) {
+            double difference = x - mean;
+            return Math.exp(difference * difference * scale);
+        }
+
+        @Override
+        public double getHeight() {
+            return 1;
+        }
+
+        @Override
+        public double getSupportLeft() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public double getSupportRight() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public double getCoreLeft() {
+            return mean;
+        }
+
+        @Override
+        public double getCoreRight() {
+            return mean;
+        }
+
+        @Override
+        public double[] getAlphaCut(double alpha) {
+            checkAlpha(alpha);
+            double width = sigma * Math.sqrt(-2 * Math.log(alpha));
+            return new double[]{mean - width, mean + width};
+        }
+
+        @Override
+        public double getArea() {
+            return sigma * SQRT_2_PI;
+        }
+
+        @Override
+        public double getCentroid() {
+            return mean;
+        }
+
+        @Override
+        public String toString() {
+            return "gaussian(" + mean + ";" + sigma + ")";
+        }
+    }
+
+    static final class Sigmoid implements MembershipFunction {
+
+        private final double slope;
+        private final double center;
+
+        Sigmoid(double slope, double center) {
+            this.slope = slope;
+            this.center = center;
+        }
+
+        @Override
+        public double apply(double x) {
+            return 1 / (1 + Math.exp(-slope * (x - center)));
+        }
+
+        /**
+         * Returns 1, the limit of the function, which is never reached.
+         *
+         * @return see description.
+         */
+        @Override
+        public double getHeight() {
+            return 1;
+        }
+
+        @Override
+        public double getSupportLeft() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public double getSupportRight() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public double getCoreLeft() {
+            return Double.NaN;
+        }
+
+        @Override
+        public double getCoreRight() {
+            return Double.NaN;
+        }
+
+        @Override
+        public double[] getAlphaCut(double alpha) {
+            checkAlpha(alpha);
+            if (alpha == 1) {
+                return new double[0];
+            }
+            double bound = center - Math.log(1 / alpha - 1) / slope;
+            return slope > 0 ? new double[]{bound, Double.POSITIVE_INFINITY} : new double[]{Double.NEGATIVE_INFINITY, bound};
+        }
+
+        @Override
+        public double getArea() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public double getCentroid() {
+            return Double.NaN;
+        }
+
+        @Override
+        public String toString() {
+            return "sigmoid(" + slope + ";" + center + ")";
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Built-in t-norms and t-conorms. Every implementation is a final class with its own bulk loop,
+ * the basic ones delegate it to {@link Kernels}.
+ *
+ * @author Evgeny Mironenko
+ */
+final class Norms {
+
+    static final TNorm MINIMUM = new Minimum();
+    static final TNorm PRODUCT = new Product();
+    static final TNorm LUKASIEWICZ_T_NORM = new LukasiewiczTNorm();
+    static final TConorm MAXIMUM = new Maximum();
+    static final TConorm PROBABILISTIC_SUM = new ProbabilisticSum();
+    static final TConorm LUKASIEWICZ_T_CONORM = new LukasiewiczTConorm();
+
+    private Norms() {
+    }
+
+    private static final class Minimum implements TNorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.min(a, b);
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().min(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "minimum";
+        }
+    }
+
+    private static final class Product implements TNorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return a * b;
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().product(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "product";
+        }
+    }
+
+    private static final class LukasiewiczTNorm implements TNorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.max(0, a + b - 1);
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().boundedDifference(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "lukasiewicz";
+        }
+    }
+
+    static final class HamacherTNorm implements TNorm {
+
+        private final double lambda;
+
+        HamacherTNorm(double lambda) {
+            this.lambda = lambda;
+        }
+
+        @Override
+        public double apply(double a, double b) {
+            double ab = a * b;
+            return ab == 0 ? 0 : ab / (lambda + (1 - lambda) * (a + b - ab));
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            for (int i = 0; i < result.length; i++) {
+                double ab = a[i] * b[i];
+                result[i] = ab == 0 ? 0 : ab / (lambda + (1 - lambda) * (a[i] + b[i] - ab));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "hamacher(" + lambda + ")";
+        }
+    }
+
+    static final class YagerTNorm implements TNorm {
+
+        private final double p;
+
+        YagerTNorm(double p) {
+            this.p = p;
+        }
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.max(0, 1 - Math.pow(Math.pow(1 - a, p) + Math.pow(1 - b, p), 1 / p));
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            double q = 1 / p;
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Math.max(0, 1 - Math.pow(Math.pow(1 - a[i], p) + Math.pow(1 - b[i], p), q));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "yager(" + p + ")";
+        }
+    }
+
+    private static final class Maximum implements TConorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.max(a, b);
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().max(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "maximum";
+        }
+    }
+
+    private static final class ProbabilisticSum implements TConorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return a + b - a * b;
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().probabilisticSum(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "probabilisticSum";
+        }
+    }
+
+    private static final class LukasiewiczTConorm implements TConorm {
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.min(1, a + b);
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            Kernels.get().boundedSum(a, b, result);
+        }
+
+        @Override
+        public String toString() {
+            return "lukasiewicz";
+        }
+    }
+
+    static final class HamacherTConorm implements TConorm {
+
+        private final double lambda;
+
+        HamacherTConorm(double lambda) {
+            this.lambda = lambda;
+        }
+
+        @Override
+        public double apply(double a, double b) {
+            double ab = a * b;
+            double denominator = 1 + (lambda - 1) * ab;
+            return denominator == 0 ? 1 : (a + b + (lambda - 2) * ab) / denominator;
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            for (int i = 0; i < result.length; i++) {
+                double ab = a[i] * b[i];
+                double denominator = 1 + (lambda - 1) * ab;
+                result[i] = denominator == 0 ? 1 : (a[i] + b[i] + (lambda - 2) * ab) / denominator;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "hamacher(" + lambda + ")";
+        }
+    }
+
+    static final class YagerTConorm implements TConorm {
+
+        private final double p;
+
+        YagerTConorm(double p) {
+            this.p = p;
+        }
+
+        @Override
+        public double apply(double a, double b) {
+            return Math.min(1, Math.pow(Math.pow(a, p) + Math.pow(b, p), 1 / p));
+        }
+
+        @Override
+        public void apply(double[] a, double[] b, double[] result) {
+            double q = 1 / p;
+            for (int i = 0; i < result.length; i++) {
+                result[i] = Math.min(1, Math.pow(Math.pow(a[i], p) + Math.pow(b[i], p), q));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "yager(" + p + ")";
+        }
+    }
+}
@@ -0,0 +1,1045 @@
+package com.github.rustock0.fuzzy;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Fuzzy set stored outside of the Java heap, for universes too large for {@code double[]} or a map.
+ * <p>
+ * Keys and membership values are kept in two direct buffers sorted by key, so positional operations
+ * (distances, Left and Right of Maximum, etc.) use the key order. Every operation streams over the buffers:
+ * reductions read them element by element, element-wise operations copy them chunk by chunk into small
+ * heap arrays and reuse the bulk t-norm, t-conorm and distance kernels. Results of operations are new
+ * off-heap sets. The buffers are never moved: readers and writers work on duplicates of them.
+ * <p>
+ * Key lists of {@link FuzzySet} (core, support, transition points, alpha cuts and level sets) are written
+ * in key order into buffers supplied by the caller, or only counted, so they never land on the heap either.
+ * The nearest clear set and hedges are new off-heap sets. Nothing is cached: every property takes a pass over
+ * the buffers. In-place operations and {@link CrispSet} results are left to {@link FuzzySet}.
+ * <p>
+ * A set holds its memory until {@link #close()} is called (or until the buffers are collected),
+ * any operation on a closed set throws {@link IllegalStateException}. The set is not thread-safe:
+ * it must not be closed while other threads use it.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class OffHeapFuzzySet implements AutoCloseable {
+
+    /**
+     * Maximum number of points, limited by the capacity of a direct buffer.
+     */
+    public static final int MAX_SIZE = Integer.MAX_VALUE / Double.BYTES;
+
+    /**
+     * Number of points copied to the heap at once by element-wise operations.
+     */
+    static final int CHUNK = 4096;
+
+    private static final Cleaner CLEANER = Cleaner.load();
+
+    private final int size;
+    private ByteBuffer keyMemory;
+    private ByteBuffer membershipMemory;
+    private DoubleBuffer x;
+    private DoubleBuffer mu;
+
+    private OffHeapFuzzySet(int size, ByteBuffer keyMemory, ByteBuffer membershipMemory, DoubleBuffer x, DoubleBuffer mu) {
+        this.size = size;
+        this.keyMemory = keyMemory;
+        this.membershipMemory = membershipMemory;
+        this.x = x;
+        this.mu = mu;
+    }
+
+    /**
+     * Creates a set over memory owned by someone else, e.g. a memory-mapped file.
+     * Closing the set doesn't release the memory.
+     *
+     * @param x  keys in ascending order.
+     * @param mu membership values aligned with the keys.
+     * @return see description.
+     */
+    static OffHeapFuzzySet view(DoubleBuffer x, DoubleBuffer mu) {
+        return new OffHeapFuzzySet(x.remaining(), null, null, x.slice(), mu.slice());
+    }
+
+    private static OffHeapFuzzySet allocate(int size) {
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        ByteBuffer keyMemory = allocateDirect(size);
+        ByteBuffer membershipMemory = allocateDirect(size);
+        return new OffHeapFuzzySet(size, keyMemory, membershipMemory, keyMemory.asDoubleBuffer(),
+            membershipMemory.asDoubleBuffer());
+    }
+
+    private static ByteBuffer allocateDirect(int size) {
+        return ByteBuffer.allocateDirect(size * Double.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns a builder of a set with at most the specified number of points.
+     *
+     * @param capacity a maximum number of points.
+     * @return see description.
+     */
+    public static Builder builder(int capacity) {
+        return new Builder(allocate(capacity));
+    }
+
+    /**
+     * Copies the specified fuzzy set off the heap.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public static OffHeapFuzzySet of(FuzzySet fuzzySet) {
+        OffHeapFuzzySet result = allocate(fuzzySet.size());
+        result.x.duplicate().put(fuzzySet.x);
+        result.mu.duplicate().put(fuzzySet.mu);
+        return result;
+    }
+
+    /**
+     * Copies the current set to the heap.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        double[] keys = new double[size];
+        double[] values = new double[size];
+        keys().duplicate().get(keys);
+        memberships().duplicate().get(values);
+        return new FuzzySet(keys, values, null);
+    }
+
+    /**
+     * Returns a number of points.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a key of the specified point.
+     *
+     * @param i a position of the point in key order.
+     * @return see description.
+     */
+    public double getKey(int i) {
+        return keys().get(i);
+    }
+
+    /**
+     * Returns a membership value of the specified point.
+     *
+     * @param i a position of the point in key order.
+     * @return see description.
+     */
+    public double getMembership(int i) {
+        return memberships().get(i);
+    }
+
+    /**
+     * Returns a position of the specified key, or (-(insertion point) - 1) if there is no such key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public int indexOf(double key) {
+        DoubleBuffer keys = keys();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int c = Double.compare(keys.get(middle), key);
+            if (c < 0) {
+                low = middle + 1;
+            } else if (c > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns a height "supremum(set)".
+     *
+     * @return see description.
+     */
+    public double getHeight() {
+        DoubleBuffer mu = memberships();
+        double result = 0.0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            if (value > result) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a cardinality, i.e. a sum of membership values.
+     *
+     * @return see description.
+     */
+    public double getCardinality() {
+        DoubleBuffer mu = memberships();
+        double result = 0.0;
+        for (int i = 0; i < size; i++) {
+            result += mu.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an entropy, see {@link FuzzySet#getEntropy()}.
+     *
+     * @return see description.
+     */
+    public double getEntropy() {
+        DoubleBuffer mu = memberships();
+        double sum = 0.0;
+        double muLogMu = 0.0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            sum += value;
+            if (value > 0.0) {
+                muLogMu += value * Math.log(value);
+            }
+        }
+        return FuzzySetSummary.entropy(sum, muLogMu);
+    }
+
+    /**
+     * Returns a number of points in the alpha cut.
+     *
+     * @param alpha  a number between 0 and 1.
+     * @param strict true for a strict alpha cut.
+     * @return see description.
+     */
+    public int getAlphaCutSize(double alpha, boolean strict) {
+        DoubleBuffer mu = memberships();
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            if (strict ? value > alpha : value >= alpha) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes keys of the core, i.e. with membership 1, see {@link FuzzySet#getCore()}.
+     *
+     * @param destination a buffer for the keys, written from its position in key order, or null to count them only.
+     * @return a number of keys in the core.
+     */
+    public int getCore(DoubleBuffer destination) {
+        return select(value -> value == 1.0, destination);
+    }
+
+    /**
+     * Writes keys of the support, i.e. with positive membership, see {@link FuzzySet#getSupport()}.
+     *
+     * @param destination a buffer for the keys, written from its position in key order, or null to count them only.
+     * @return a number of keys in the support.
+     */
+    public int getSupport(DoubleBuffer destination) {
+        return select(value -> value > 0.0, destination);
+    }
+
+    /**
+     * Writes transition points, i.e. keys with membership 0.5, see {@link FuzzySet#getTransitionPoint()}.
+     *
+     * @param destination a buffer for the keys, written from its position in key order, or null to count them only.
+     * @return a number of transition points.
+     */
+    public int getTransitionPoint(DoubleBuffer destination) {
+        return select(value -> value == 0.5, destination);
+    }
+
+    /**
+     * Writes keys of an alpha cut, see {@link FuzzySet#getAlphaCut(double)}.
+     *
+     * @param alpha       a number between 0 and 1.
+     * @param strict      true for a strict alpha cut.
+     * @param destination a buffer for the keys, written from its position in key order, or null to count them only.
+     * @return a number of keys in the alpha cut.
+     */
+    public int getAlphaCut(double alpha, boolean strict, DoubleBuffer destination) {
+        return select(strict ? value -> value > alpha : value -> value >= alpha, destination);
+    }
+
+    /**
+     * Writes a level-set decomposition in a single pass, see {@link FuzzySet#getLevelSets(double...)}:
+     * keys of the alpha cut according the i-th alpha value are written into the i-th buffer in key order.
+     *
+     * @param destinations buffers for the keys, one per alpha value, written from their positions.
+     * @param alphas       numbers between 0 and 1.
+     * @return numbers of keys in the alpha cuts.
+     */
+    public int[] getLevelSets(DoubleBuffer[] destinations, double... alphas) {
+        if (destinations.length != alphas.length) {
+            throw new IllegalArgumentException("Got " + destinations.length + " buffers for " + alphas.length + " alpha values");
+        }
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        int[] result = new int[alphas.length];
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            for (int j = 0; j < alphas.length; j++) {
+                if (value >= alphas[j]) {
+                    destinations[j].put(x.get(i));
+                    result[j]++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private int select(DoublePredicate predicate, DoubleBuffer destination) {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(mu.get(i))) {
+                if (destination != null) {
+                    destination.put(x.get(i));
+                }
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a nearest clear set: membership 1 for the points with membership above 0.5, otherwise 0,
+     * see {@link FuzzySet#getNearestClearSet()}.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet getNearestClearSet() {
+        return map((values, length) -> {
+            for (int i = 0; i < length; i++) {
+                values[i] = values[i] > 0.5 ? 1 : 0;
+            }
+        });
+    }
+
+    /**
+     * Returns true if the set is convex, see {@link FuzzySet#isConvex()}.
+     *
+     * @return see description.
+     */
+    public boolean isConvex() {
+        return checkTriples(true);
+    }
+
+    /**
+     * Returns true if the set is concave, see {@link FuzzySet#isConcave()}.
+     *
+     * @return see description.
+     */
+    public boolean isConcave() {
+        return checkTriples(false);
+    }
+
+    private boolean checkTriples(boolean convex) {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        for (int i = 0; i < size - 2; i++) {
+            double x1 = x.get(i);
+            double x2 = x.get(i + 1);
+            double x3 = x.get(i + 2);
+            double mu2 = mu.get(i + 1);
+            double chord = (x3 - x2) / (x3 - x1) * mu.get(i) + (x2 - x1) / (x3 - x1) * mu.get(i + 2);
+            if (convex ? !(mu2 >= chord) : !(mu2 <= chord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the specified set dominates (includes) the current set, see {@link FuzzySet#isDominate(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public boolean isDominate(OffHeapFuzzySet anotherSet) {
+        DoubleBuffer leftKeys = keys();
+        DoubleBuffer rightKeys = anotherSet.keys();
+        DoubleBuffer leftMu = memberships();
+        DoubleBuffer rightMu = anotherSet.memberships();
+        for (int i = 0, j = 0; i < size && j < anotherSet.size; ) {
+            int c = Double.compare(leftKeys.get(i), rightKeys.get(j));
+            if (c == 0 && rightMu.get(j) <= leftMu.get(i)) {
+                return false;
+            }
+            if (c <= 0) {
+                i++;
+            }
+            if (c >= 0) {
+                j++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationCOG()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationCOG() {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        double sum1 = 0;
+        double sum2 = 0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            sum1 += x.get(i) * value;
+            sum2 += value;
+        }
+        return sum1 / sum2;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationCOA()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationCOA() {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        double total = getCardinality();
+        double result = Double.NaN;
+        double minSum = Double.MAX_VALUE;
+        double prefix = 0;
+        for (int i = 0; i < size; i++) {
+            double tmp = Math.abs(prefix - (total - prefix));
+            if (tmp < minSum) {
+                minSum = tmp;
+                result = x.get(i);
+            }
+            prefix += mu.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationLOM()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationLOM() {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        double result = Double.MAX_VALUE;
+        double maxMu = 0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            if (value >= maxMu) {
+                maxMu = value;
+                result = Math.min(result, x.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationROM()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationROM() {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        double result = Double.MIN_VALUE;
+        double maxMu = 0;
+        for (int i = 0; i < size; i++) {
+            double value = mu.get(i);
+            if (value >= maxMu) {
+                maxMu = value;
+                result = Math.max(result, x.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationMOM()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationMOM() {
+        DoubleBuffer x = keys();
+        DoubleBuffer mu = memberships();
+        double maxMu = getHeight();
+        double sum = 0;
+        double length = 0;
+        for (int i = 0; i < size; i++) {
+            if (mu.get(i) == maxMu) {
+                sum += x.get(i);
+                length++;
+            }
+        }
+        return sum / length;
+    }
+
+    /**
+     * Returns a Hamming distance, see {@link FuzzySet#getHammingDistance(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public double getHammingDistance(OffHeapFuzzySet anotherSet) {
+        return distance(anotherSet, false);
+    }
+
+    /**
+     * Returns an Euclidean distance, see {@link FuzzySet#getEuclideanDistance(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public double getEuclideanDistance(OffHeapFuzzySet anotherSet) {
+        return Math.sqrt(distance(anotherSet, true));
+    }
+
+    private double distance(OffHeapFuzzySet anotherSet, boolean squared) {
+        DoubleBuffer first = memberships().duplicate();
+        DoubleBuffer second = anotherSet.memberships().duplicate();
+        int common = Math.min(size, anotherSet.size);
+        double[] a = new double[Math.min(CHUNK, common)];
+        double[] b = new double[a.length];
+        double distance = 0.0;
+        for (int from = 0; from < common; from += CHUNK) {
+            int length = Math.min(CHUNK, common - from);
+            first.get(a, 0, length);
+            second.get(b, 0, length);
+            distance += squared
+                ? Kernels.get().squaredDifferenceSum(a, b, length)
+                : Kernels.get().absDifferenceSum(a, b, length);
+        }
+        DoubleBuffer tail = size > anotherSet.size ? first : second;
+        while (tail.hasRemaining()) {
+            distance += tail.get();
+        }
+        return distance;
+    }
+
+    /**
+     * Returns an union of the current and specified sets over their common keys.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param conorm     a t-conorm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public OffHeapFuzzySet getUnion(OffHeapFuzzySet anotherSet, TConorm conorm) {
+        return join(anotherSet, conorm::apply);
+    }
+
+    /**
+     * Returns an intersection of the current and specified sets over their common keys.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public OffHeapFuzzySet getIntersection(OffHeapFuzzySet anotherSet, TNorm norm) {
+        return join(anotherSet, norm::apply);
+    }
+
+    /**
+     * Deducts the specified set from the current one over their common keys: an intersection with its complement,
+     * see {@link FuzzySet#deduct(FuzzySet, TNorm)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @param norm       a t-norm.
+     * @return see description.
+     */
+    public OffHeapFuzzySet deduct(OffHeapFuzzySet anotherSet, TNorm norm) {
+        return join(anotherSet, (a, b, result) -> {
+            Kernels.get().complement(b, b);
+            norm.apply(a, b, result);
+        });
+    }
+
+    /**
+     * Returns an union, see {@link FuzzySet#getUnionMax(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getUnionMax(OffHeapFuzzySet anotherSet) {
+        return getUnion(anotherSet, TConorm.maximum());
+    }
+
+    /**
+     * Returns an intersection, see {@link FuzzySet#getIntersectionMax(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getIntersectionMax(OffHeapFuzzySet anotherSet) {
+        return getIntersection(anotherSet, TNorm.minimum());
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#deductMax(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet deductMax(OffHeapFuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.minimum());
+    }
+
+    /**
+     * Returns an union, see {@link FuzzySet#getUnionAlg(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getUnionAlg(OffHeapFuzzySet anotherSet) {
+        return getUnion(anotherSet, TConorm.probabilisticSum());
+    }
+
+    /**
+     * Returns an intersection, see {@link FuzzySet#getIntersectionAlg(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getIntersectionAlg(OffHeapFuzzySet anotherSet) {
+        return getIntersection(anotherSet, TNorm.product());
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#deductAlg(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet deductAlg(OffHeapFuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.product());
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#symmetricDeduction1Alg(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet symmetricDeduction1Alg(OffHeapFuzzySet anotherSet) {
+        try (OffHeapFuzzySet abDeduction = deductAlg(anotherSet);
+             OffHeapFuzzySet baDeduction = anotherSet.deductAlg(this)) {
+            return abDeduction.getUnionAlg(baDeduction);
+        }
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#symmetricDeduction2Alg(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet symmetricDeduction2Alg(OffHeapFuzzySet anotherSet) {
+        try (OffHeapFuzzySet aPlusB = getUnionAlg(anotherSet);
+             OffHeapFuzzySet aBIntersection = getIntersectionAlg(anotherSet)) {
+            return aPlusB.deductAlg(aBIntersection);
+        }
+    }
+
+    /**
+     * Returns an union, see {@link FuzzySet#getUnionLim(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getUnionLim(OffHeapFuzzySet anotherSet) {
+        return getUnion(anotherSet, TConorm.lukasiewicz());
+    }
+
+    /**
+     * Returns an intersection, see {@link FuzzySet#getIntersectionLim(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet getIntersectionLim(OffHeapFuzzySet anotherSet) {
+        return getIntersection(anotherSet, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#deductLim(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet deductLim(OffHeapFuzzySet anotherSet) {
+        return deduct(anotherSet, TNorm.lukasiewicz());
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#symmetricDeduction1Lim(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet symmetricDeduction1Lim(OffHeapFuzzySet anotherSet) {
+        try (OffHeapFuzzySet abDeduction = deductLim(anotherSet);
+             OffHeapFuzzySet baDeduction = anotherSet.deductLim(this)) {
+            return abDeduction.getUnionAlg(baDeduction);
+        }
+    }
+
+    /**
+     * Returns a result of deduction, see {@link FuzzySet#symmetricDeduction2Lim(FuzzySet)}.
+     *
+     * @param anotherSet an another fuzzy set.
+     * @return see description.
+     */
+    public OffHeapFuzzySet symmetricDeduction2Lim(OffHeapFuzzySet anotherSet) {
+        try (OffHeapFuzzySet aPlusB = getUnionLim(anotherSet);
+             OffHeapFuzzySet aBIntersection = getIntersectionLim(anotherSet)) {
+            return aPlusB.deductLim(aBIntersection);
+        }
+    }
+
+    /**
+     * Merge-joins the keys of both sets and applies the operator to chunks of joined membership values.
+     */
+    private OffHeapFuzzySet join(OffHeapFuzzySet anotherSet, BulkOperator operator) {
+        DoubleBuffer leftKeys = keys();
+        DoubleBuffer rightKeys = anotherSet.keys();
+        DoubleBuffer leftMu = memberships();
+        DoubleBuffer rightMu = anotherSet.memberships();
+        int count = 0;
+        for (int i = 0, j = 0; i < size && j < anotherSet.size; ) {
+            int c = Double.compare(leftKeys.get(i), rightKeys.get(j));
+            if (c <= 0) {
+                i++;
+            }
+            if (c >= 0) {
+                j++;
+            }
+            if (c == 0) {
+                count++;
+            }
+        }
+        OffHeapFuzzySet result = allocate(count);
+        DoubleBuffer resultKeys = result.x.duplicate();
+        DoubleBuffer resultMu = result.mu.duplicate();
+        double[] keys = new double[Math.min(CHUNK, count)];
+        double[] a = new double[keys.length];
+        double[] b = new double[keys.length];
+        double[] values = new double[keys.length];
+        int filled = 0;
+        for (int i = 0, j = 0, k = 0; k < count; ) {
+            double key = leftKeys.get(i);
+            int c = Double.compare(key, rightKeys.get(j));
+            if (c == 0) {
+                keys[filled] = key;
+                a[filled] = leftMu.get(i);
+                b[filled] = rightMu.get(j);
+                filled++;
+                k++;
+                if (filled == keys.length || k == count) {
+                    flush(keys, a, b, values, filled, operator, resultKeys, resultMu);
+                    filled = 0;
+                }
+            }
+            if (c <= 0) {
+                i++;
+            }
+            if (c >= 0) {
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private static void flush(double[] keys, double[] a, double[] b, double[] values, int length,
+                              BulkOperator operator, DoubleBuffer resultKeys, DoubleBuffer resultMu) {
+        if (length < values.length) {
+            a = Arrays.copyOf(a, length);
+            b = Arrays.copyOf(b, length);
+            values = new double[length];
+        }
+        operator.apply(a, b, values);
+        resultKeys.put(keys, 0, length);
+        resultMu.put(values, 0, length);
+    }
+
+    /**
+     * Returns an addition (complement) of the current set.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet getAddition() {
+        return not();
+    }
+
+    /**
+     * Returns "not" hedge of the current set (addition, 1 - mu), see {@link FuzzySet#not()}.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet not() {
+        return map((values, length) -> Kernels.get().complement(values, values));
+    }
+
+    /**
+     * Returns "very" hedge of the current set (concentration, mu^2), see {@link FuzzySet#very()}.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet very() {
+        return map((values, length) -> Kernels.get().square(values, values));
+    }
+
+    /**
+     * Returns "somewhat" hedge of the current set (stretching, sqrt(mu)), see {@link FuzzySet#somewhat()}.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet somewhat() {
+        return map((values, length) -> Kernels.get().sqrt(values, values));
+    }
+
+    /**
+     * Returns a power hedge of the current set, i.e. mu^p, see {@link FuzzySet#power(double)}.
+     *
+     * @param p a positive exponent.
+     * @return see description.
+     */
+    public OffHeapFuzzySet power(double p) {
+        DoubleUnaryOperator hedge = HedgedFuzzySet.powerOf(p);
+        return map((values, length) -> {
+            for (int i = 0; i < length; i++) {
+                values[i] = hedge.applyAsDouble(values[i]);
+            }
+        });
+    }
+
+    /**
+     * Returns a normalized copy of the current set, or the current set if it's already normal.
+     *
+     * @return see description.
+     */
+    public OffHeapFuzzySet normalize() {
+        double height = getHeight();
+        if (height == 1.0) {
+            return this;
+        }
+        return map((values, length) -> {
+            for (int i = 0; i < length; i++) {
+                values[i] = values[i] / height;
+            }
+        });
+    }
+
+    /**
+     * Copies the keys to a new set and applies the operator to chunks of membership values.
+     */
+    private OffHeapFuzzySet map(ChunkOperator operator) {
+        OffHeapFuzzySet result = allocate(size);
+        result.x.duplicate().put(keys().duplicate());
+        DoubleBuffer source = memberships().duplicate();
+        DoubleBuffer target = result.mu.duplicate();
+        double[] values = new double[Math.min(CHUNK, size)];
+        for (int from = 0; from < size; from += CHUNK) {
+            int length = Math.min(CHUNK, size - from);
+            if (length < values.length) {
+                values = new double[length];
+            }
+            source.get(values, 0, length);
+            operator.apply(values, length);
+            target.put(values, 0, length);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the memory of the set is released.
+     *
+     * @return see description.
+     */
+    public boolean isClosed() {
+        return x == null;
+    }
+
+    /**
+     * Releases the memory of the set. Repeated calls have no effect.
+     * A view over a memory-mapped file only becomes unusable, the mapping stays valid.
+     */
+    @Override
+    public void close() {
+        if (x != null) {
+            x = null;
+            mu = null;
+            if (keyMemory != null) {
+                CLEANER.free(keyMemory);
+                CLEANER.free(membershipMemory);
+            }
+            keyMemory = null;
+            membershipMemory = null;
+        }
+    }
+
+    private DoubleBuffer keys() {
+        DoubleBuffer result = x;
+        if (result == null) {
+            throw new IllegalStateException("Off-heap fuzzy set is closed");
+        }
+        return result;
+    }
+
+    private DoubleBuffer memberships() {
+        DoubleBuffer result = mu;
+        if (result == null) {
+            throw new IllegalStateException("Off-heap fuzzy set is closed");
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapFuzzySet{" +
+            "size=" + size +
+            ", closed=" + isClosed() +
+            '}';
+    }
+
+    /**
+     * Element-wise operation over chunks of membership values.
+     */
+    private interface BulkOperator {
+
+        void apply(double[] a, double[] b, double[] result);
+    }
+
+    /**
+     * In-place operation over the first length membership values of a chunk.
+     */
+    private interface ChunkOperator {
+
+        void apply(double[] values, int length);
+    }
+
+    /**
+     * Writes points of a new off-heap set in ascending key order.
+     */
+    public static final class Builder {
+
+        private OffHeapFuzzySet target;
+        private int size;
+
+        private Builder(OffHeapFuzzySet target) {
+            this.target = target;
+        }
+
+        /**
+         * Appends a point. Keys must be added in strictly ascending order.
+         *
+         * @param key        a key.
+         * @param membership a membership value.
+         * @return the current builder.
+         */
+        public Builder add(double key, double membership) {
+            if (target == null) {
+                throw new IllegalStateException("Off-heap fuzzy set is already built");
+            }
+            if (size == target.size) {
+                throw new IllegalStateException("Capacity exceeded: " + target.size);
+            }
+            if (size > 0 && !(Double.compare(target.x.get(size - 1), key) < 0)) {
+                throw new IllegalArgumentException("Keys are not ascending: " + target.x.get(size - 1) + ", " + key);
+            }
+            target.x.put(size, key);
+            target.mu.put(size, membership);
+            size++;
+            return this;
+        }
+
+        /**
+         * Returns the set of the added points. Unused capacity is released.
+         *
+         * @return see description.
+         */
+        public OffHeapFuzzySet build() {
+            if (target == null) {
+                throw new IllegalStateException("Off-heap fuzzy set is already built");
+            }
+            OffHeapFuzzySet result = target;
+            target = null;
+            if (size == result.size) {
+                return result;
+            }
+            OffHeapFuzzySet trimmed = allocate(size);
+            trimmed.x.duplicate().put(prefix(result.x, size));
+            trimmed.mu.duplicate().put(prefix(result.mu, size));
+            result.close();
+            return trimmed;
+        }
+
+        private static DoubleBuffer prefix(DoubleBuffer buffer, int length) {
+            DoubleBuffer result = buffer.duplicate();
+            // cast keeps the Java 8 signature of Buffer#limit(int)
+            ((Buffer) result).limit(length);
+            return result;
+        }
+    }
+
+    /**
+     * Releases direct memory eagerly where the runtime allows it ({@code sun.misc.Unsafe#invokeCleaner}, JDK 9+).
+     * Otherwise the memory is released when the buffer is collected.
+     */
+    private static final class Cleaner {
+
+        private final Object unsafe;
+        private final Method invokeCleaner;
+
+        private Cleaner(Object unsafe, Method invokeCleaner) {
+            this.unsafe = unsafe;
+            this.invokeCleaner = invokeCleaner;
+        }
+
+        static Cleaner load() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return new Cleaner(field.get(null), unsafeClass.getMethod("invokeCleaner", ByteBuffer.class));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return new Cleaner(null, null);
+            }
+        }
+
+        void free(ByteBuffer buffer) {
+            if (invokeCleaner != null) {
+                try {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // the buffer is released when it's collected
+                }
+            }
+        }
+    }
+}
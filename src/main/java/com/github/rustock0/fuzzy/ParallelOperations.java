@@ -0,0 +1,263 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Operations over large fuzzy sets executed in a {@link ForkJoinPool}.
+ * <p>
+ * Points are split into ranges by halving until a range has at most {@code threshold} points; sets which are
+ * not larger than the threshold are processed sequentially in the calling thread. Sums are reduced
+ * along the same fixed tree, left range first, so a result depends only on the set and the threshold
+ * and never on the pool size or on scheduling. Unions and intersections equal the ones of the corresponding
+ * {@link FuzzySet} methods. Distances, defuzzification and entropy equal them only up to the rounding of sums,
+ * even for sets within the threshold: {@link FuzzySet} may sum in another order, e.g. in SIMD lanes.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class ParallelOperations {
+
+    /**
+     * A default number of points processed by one task.
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 15;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates operations executed in the specified pool.
+     *
+     * @param pool      a pool.
+     * @param threshold a maximum number of points processed by one task, sets within it are processed sequentially.
+     */
+    public ParallelOperations(ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Invalid threshold: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns operations executed in the common pool with the default threshold.
+     *
+     * @return see description.
+     */
+    public static ParallelOperations common() {
+        return new ParallelOperations(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns an union of the specified sets, see {@link FuzzySet#getUnion(FuzzySet, TConorm)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @param conorm a t-conorm.
+     * @return see description.
+     */
+    public FuzzySet getUnion(FuzzySet first, FuzzySet second, TConorm conorm) {
+        return combine(first, second, conorm::apply, conorm::apply);
+    }
+
+    /**
+     * Returns an intersection of the specified sets, see {@link FuzzySet#getIntersection(FuzzySet, TNorm)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @param norm   a t-norm.
+     * @return see description.
+     */
+    public FuzzySet getIntersection(FuzzySet first, FuzzySet second, TNorm norm) {
+        return combine(first, second, norm::apply, norm::apply);
+    }
+
+    /**
+     * Returns a Hamming distance between the specified sets, see {@link FuzzySet#getHammingDistance(FuzzySet)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @return see description.
+     */
+    public double getHammingDistance(FuzzySet first, FuzzySet second) {
+        return distance(first, second, false);
+    }
+
+    /**
+     * Returns an Euclidean distance between the specified sets, see {@link FuzzySet#getEuclideanDistance(FuzzySet)}.
+     *
+     * @param first  a first fuzzy set.
+     * @param second a second fuzzy set.
+     * @return see description.
+     */
+    public double getEuclideanDistance(FuzzySet first, FuzzySet second) {
+        return Math.sqrt(distance(first, second, true));
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationCOG()}.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public double getDefuzzificationCOG(FuzzySet fuzzySet) {
+        double[] x = fuzzySet.x;
+        double[] mu = fuzzySet.mu;
+        double[] sums = reduce(fuzzySet.size(), (from, to) -> {
+            double sum1 = 0;
+            double sum2 = 0;
+            for (int i = from; i < to; i++) {
+                int k = fuzzySet.at(i);
+                sum1 += x[k] * mu[k];
+                sum2 += mu[k];
+            }
+            return new double[]{sum1, sum2};
+        });
+        return sums[0] / sums[1];
+    }
+
+    /**
+     * Returns an entropy, see {@link FuzzySet#getEntropy()}.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public double getEntropy(FuzzySet fuzzySet) {
+        double[] mu = fuzzySet.mu;
+        double[] sums = reduce(fuzzySet.size(), (from, to) -> {
+            double sum = 0.0;
+            double muLogMu = 0.0;
+            for (int i = from; i < to; i++) {
+                double value = mu[fuzzySet.at(i)];
+                sum += value;
+                if (value > 0.0) {
+                    muLogMu += value * Math.log(value);
+                }
+            }
+            return new double[]{sum, muLogMu};
+        });
+        return FuzzySetSummary.entropy(sums[0], sums[1]);
+    }
+
+    private FuzzySet combine(FuzzySet first, FuzzySet second, BulkOperator bulk, DoubleBinaryOperator operator) {
+        SortedJoin join = SortedJoin.of(first.x, second.x);
+        double[] a = join.alignLeft(first.mu);
+        double[] b = join.alignRight(second.mu);
+        double[] result = new double[join.size()];
+        if (result.length <= threshold) {
+            bulk.apply(a, b, result);
+        } else {
+            pool.invoke(new Combination(a, b, result, 0, result.length, operator));
+        }
+        return new FuzzySet(join.x, result, null);
+    }
+
+    private double distance(FuzzySet first, FuzzySet second, boolean squared) {
+        int common = Math.min(first.size(), second.size());
+        FuzzySet longer = first.size() > second.size() ? first : second;
+        double[] sums = reduce(longer.size(), (from, to) -> {
+            double distance = 0.0;
+            for (int i = from; i < Math.min(to, common); i++) {
+                double difference = first.mu[first.at(i)] - second.mu[second.at(i)];
+                distance += squared ? difference * difference : Math.abs(difference);
+            }
+            for (int i = Math.max(from, common); i < to; i++) {
+                distance += longer.mu[longer.at(i)];
+            }
+            return new double[]{distance};
+        });
+        return sums[0];
+    }
+
+    private double[] reduce(int size, RangeFunction function) {
+        if (size <= threshold) {
+            return function.apply(0, size);
+        }
+        return pool.invoke(new Reduction(0, size, function));
+    }
+
+    /**
+     * Bulk binary operation over index-aligned arrays.
+     */
+    @FunctionalInterface
+    private interface BulkOperator {
+        void apply(double[] a, double[] b, double[] result);
+    }
+
+    /**
+     * Function which returns partial sums over a range of points.
+     */
+    @FunctionalInterface
+    private interface RangeFunction {
+        double[] apply(int from, int to);
+    }
+
+    /**
+     * Sums partial sums of the ranges of at most {@link #threshold} points along a fixed halving tree, left range first.
+     */
+    private final class Reduction extends RecursiveTask<double[]> {
+
+        private final int from;
+        private final int to;
+        private final RangeFunction function;
+
+        Reduction(int from, int to, RangeFunction function) {
+            this.from = from;
+            this.to = to;
+            this.function = function;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= threshold) {
+                return function.apply(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Reduction left = new Reduction(from, middle, function);
+            left.fork();
+            double[] right = new Reduction(middle, to, function).compute();
+            double[] result = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] += right[i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Applies an operation to ranges of at most {@link #threshold} points element by element, in place.
+     */
+    private final class Combination extends RecursiveAction {
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] result;
+        private final int from;
+        private final int to;
+        private final DoubleBinaryOperator operator;
+
+        Combination(double[] a, double[] b, double[] result, int from, int to, DoubleBinaryOperator operator) {
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.operator = operator;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    result[i] = operator.applyAsDouble(a[i], b[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Combination(a, b, result, from, middle, operator),
+                new Combination(a, b, result, middle, to, operator));
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Fuzzy set with membership values quantized to 8 or 16 bits.
+ * <p>
+ * A membership value mu is stored as an integer level q in [0, S], where S is 255 or 65535:
+ * q = floor(mu * S + 0.5), i.e. mu is rounded to the nearest level, ties up. The error is at most 1 / (2 * S),
+ * 0 and 1 are exact, so the core and the support are kept. A level is read back as q / S.
+ * <p>
+ * Keys are never copied: a set references the key array of its source fuzzy set or {@link Universe}, and results
+ * of operations over one universe reference it too. Only membership values are compacted, so a set costs
+ * 1 or 2 bytes per point instead of 8 for its membership values, and 16 bytes per point stay 9 or 10 unless
+ * the keys are shared. The saving approaches 8x or 4x only for many sets over one universe, e.g. sets created
+ * by {@link #of(Universe, double[], Precision)}.
+ * <p>
+ * Operations work on the levels with integer arithmetic, in a dedicated {@code byte[]} or {@code char[]} loop
+ * chosen once per call: min and max, complement S - q, Lukasiewicz t-norm max(0, a + b - S) and t-conorm min(S, a + b).
+ * All of them are exact on the levels, so the result equals the quantized result of the same operation
+ * on the dequantized values. Like {@link FuzzySet}, binary operations keep the keys present in both sets.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class QuantizedFuzzySet {
+
+    /**
+     * Supported membership precisions.
+     */
+    public enum Precision {
+        /**
+         * 8-bit levels, 0..255.
+         */
+        BYTE(255),
+        /**
+         * 16-bit levels, 0..65535.
+         */
+        SHORT(65535);
+
+        private final int scale;
+
+        Precision(int scale) {
+            this.scale = scale;
+        }
+
+        /**
+         * Returns the level of membership 1.
+         *
+         * @return see description.
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Returns the level nearest to the specified membership value, ties are rounded up.
+         *
+         * @param mu a number between 0 and 1.
+         * @return see description.
+         */
+        public int quantize(double mu) {
+            if (!(mu >= 0.0 && mu <= 1.0)) {
+                throw new IllegalArgumentException("Invalid membership value: " + mu);
+            }
+            return (int) Math.floor(mu * scale + 0.5);
+        }
+
+        /**
+         * Returns a membership value of the specified level.
+         *
+         * @param level a level between 0 and the scale.
+         * @return see description.
+         */
+        public double dequantize(int level) {
+            return level / (double) scale;
+        }
+    }
+
+    private static final int MIN = 0;
+    private static final int MAX = 1;
+    private static final int BOUNDED_SUM = 2;
+    private static final int BOUNDED_DIFFERENCE = 3;
+
+    private final Precision precision;
+    private final double[] x;
+    /**
+     * Levels of {@link Precision#BYTE} sets, unsigned, or null.
+     */
+    private final byte[] bytes;
+    /**
+     * Levels of {@link Precision#SHORT} sets, or null.
+     */
+    private final char[] chars;
+
+    private QuantizedFuzzySet(Precision precision, double[] x) {
+        this.precision = precision;
+        this.x = x;
+        this.bytes = precision == Precision.BYTE ? new byte[x.length] : null;
+        this.chars = precision == Precision.SHORT ? new char[x.length] : null;
+    }
+
+    /**
+     * Quantizes the specified fuzzy set.
+     *
+     * @param fuzzySet  a fuzzy set.
+     * @param precision a precision of membership values.
+     * @return see description.
+     */
+    public static QuantizedFuzzySet of(FuzzySet fuzzySet, Precision precision) {
+        return quantize(fuzzySet.x, fuzzySet.mu, precision);
+    }
+
+    /**
+     * Quantizes the specified membership values over the specified universe without creating a fuzzy set.
+     * The set references the keys of the universe.
+     *
+     * @param universe  a universe.
+     * @param mu        membership values aligned with the keys of the universe.
+     * @param precision a precision of membership values.
+     * @return see description.
+     */
+    public static QuantizedFuzzySet of(Universe universe, double[] mu, Precision precision) {
+        if (mu.length != universe.size()) {
+            throw new IllegalArgumentException("Universe has " + universe.size() + " keys, but got " + mu.length + " values");
+        }
+        return quantize(universe.x, mu, precision);
+    }
+
+    private static QuantizedFuzzySet quantize(double[] x, double[] mu, Precision precision) {
+        QuantizedFuzzySet result = new QuantizedFuzzySet(precision, x);
+        if (result.bytes != null) {
+            byte[] levels = result.bytes;
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = (byte) precision.quantize(mu[i]);
+            }
+        } else {
+            char[] levels = result.chars;
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = (char) precision.quantize(mu[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a fuzzy set of the dequantized membership values.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        double[] mu = new double[x.length];
+        double scale = precision.scale;
+        if (bytes != null) {
+            for (int i = 0; i < mu.length; i++) {
+                mu[i] = (bytes[i] & 0xFF) / scale;
+            }
+        } else {
+            for (int i = 0; i < mu.length; i++) {
+                mu[i] = chars[i] / scale;
+            }
+        }
+        return new FuzzySet(x, mu, null);
+    }
+
+    public Precision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns a number of points.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns a key of the specified point.
+     *
+     * @param i a position of the point in key order.
+     * @return see description.
+     */
+    public double getKey(int i) {
+        return x[i];
+    }
+
+    /**
+     * Returns a level of the specified point.
+     *
+     * @param i a position of the point in key order.
+     * @return see description.
+     */
+    public int getLevel(int i) {
+        return bytes != null ? bytes[i] & 0xFF : chars[i];
+    }
+
+    /**
+     * Returns a dequantized membership value of the specified point.
+     *
+     * @param i a position of the point in key order.
+     * @return see description.
+     */
+    public double getMembership(int i) {
+        return precision.dequantize(getLevel(i));
+    }
+
+    /**
+     * Returns an addition (complement) of the current set.
+     *
+     * @return see description.
+     */
+    public QuantizedFuzzySet getAddition() {
+        QuantizedFuzzySet result = new QuantizedFuzzySet(precision, x);
+        // S - q equals ~q in the low 8 or 16 bits
+        if (bytes != null) {
+            for (int i = 0; i < bytes.length; i++) {
+                result.bytes[i] = (byte) ~bytes[i];
+            }
+        } else {
+            for (int i = 0; i < chars.length; i++) {
+                result.chars[i] = (char) ~chars[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an union of the current and specified sets. Implements Maximin algorithm.
+     *
+     * @param anotherSet an another quantized set of the same precision.
+     * @return see description.
+     */
+    public QuantizedFuzzySet getUnionMax(QuantizedFuzzySet anotherSet) {
+        return action(anotherSet, MAX);
+    }
+
+    /**
+     * Returns an intersection of the current and specified sets. Implements Maximin algorithm.
+     *
+     * @param anotherSet an another quantized set of the same precision.
+     * @return see description.
+     */
+    public QuantizedFuzzySet getIntersectionMax(QuantizedFuzzySet anotherSet) {
+        return action(anotherSet, MIN);
+    }
+
+    /**
+     * Returns an union of the current and specified sets. Implements Limited (Lukasiewicz) algorithm.
+     *
+     * @param anotherSet an another quantized set of the same precision.
+     * @return see description.
+     */
+    public QuantizedFuzzySet getUnionLim(QuantizedFuzzySet anotherSet) {
+        return action(anotherSet, BOUNDED_SUM);
+    }
+
+    /**
+     * Returns an intersection of the current and specified sets. Implements Limited (Lukasiewicz) algorithm.
+     *
+     * @param anotherSet an another quantized set of the same precision.
+     * @return see description.
+     */
+    public QuantizedFuzzySet getIntersectionLim(QuantizedFuzzySet anotherSet) {
+        return action(anotherSet, BOUNDED_DIFFERENCE);
+    }
+
+    /**
+     * Aligns the levels of both sets on their common keys and runs the loop of the operation for the precision.
+     */
+    private QuantizedFuzzySet action(QuantizedFuzzySet anotherSet, int operation) {
+        if (precision != anotherSet.precision) {
+            throw new IllegalArgumentException("Different precisions: " + precision + " and " + anotherSet.precision);
+        }
+        SortedJoin join = SortedJoin.of(x, anotherSet.x);
+        QuantizedFuzzySet result = new QuantizedFuzzySet(precision, join.x);
+        if (bytes != null) {
+            apply(operation, join.alignLeft(bytes), join.alignRight(anotherSet.bytes), result.bytes);
+        } else {
+            apply(operation, join.alignLeft(chars), join.alignRight(anotherSet.chars), result.chars);
+        }
+        return result;
+    }
+
+    private static void apply(int operation, byte[] a, byte[] b, byte[] result) {
+        switch (operation) {
+            case MIN:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (byte) Math.min(a[i] & 0xFF, b[i] & 0xFF);
+                }
+                break;
+            case MAX:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (byte) Math.max(a[i] & 0xFF, b[i] & 0xFF);
+                }
+                break;
+            case BOUNDED_SUM:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (byte) Math.min(255, (a[i] & 0xFF) + (b[i] & 0xFF));
+                }
+                break;
+            default:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (byte) Math.max(0, (a[i] & 0xFF) + (b[i] & 0xFF) - 255);
+                }
+        }
+    }
+
+    private static void apply(int operation, char[] a, char[] b, char[] result) {
+        switch (operation) {
+            case MIN:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (char) Math.min(a[i], b[i]);
+                }
+                break;
+            case MAX:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (char) Math.max(a[i], b[i]);
+                }
+                break;
+            case BOUNDED_SUM:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (char) Math.min(65535, a[i] + b[i]);
+                }
+                break;
+            default:
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = (char) Math.max(0, a[i] + b[i] - 65535);
+                }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QuantizedFuzzySet{" +
+            "precision=" + precision +
+            ", set=" + toFuzzySet().getSet() +
+            '}';
+    }
+}
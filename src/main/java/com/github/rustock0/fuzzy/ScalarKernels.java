@@ -0,0 +1,97 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Plain loop implementation of the kernels, used on every JDK.
+ *
+ * @author Evgeny Mironenko
+ */
+class ScalarKernels extends Kernels {
+
+    @Override
+    void max(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.max(a[i], b[i]);
+        }
+    }
+
+    @Override
+    void min(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.min(a[i], b[i]);
+        }
+    }
+
+    @Override
+    void product(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    void probabilisticSum(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] + b[i] - a[i] * b[i];
+        }
+    }
+
+    @Override
+    void boundedSum(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.min(1, a[i] + b[i]);
+        }
+    }
+
+    @Override
+    void boundedDifference(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.max(0, a[i] + b[i] - 1);
+        }
+    }
+
+    @Override
+    void complement(double[] a, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = 1 - a[i];
+        }
+    }
+
+    @Override
+    void square(double[] a, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] * a[i];
+        }
+    }
+
+    @Override
+    void sqrt(double[] a, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.sqrt(a[i]);
+        }
+    }
+
+    @Override
+    void symmetricDifference(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Math.max(Math.min(a[i], 1 - b[i]), Math.min(1 - a[i], b[i]));
+        }
+    }
+
+    @Override
+    double absDifferenceSum(double[] a, double[] b, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += Math.abs(a[i] - b[i]);
+        }
+        return sum;
+    }
+
+    @Override
+    double squaredDifferenceSum(double[] a, double[] b, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += Math.pow(a[i] - b[i], 2);
+        }
+        return sum;
+    }
+}
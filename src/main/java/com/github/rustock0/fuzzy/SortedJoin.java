@@ -0,0 +1,204 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Merge-join of two ascending key arrays.
+ * <p>
+ * Keeps the keys present in both arrays together with their positions in each operand.
+ * If an operand contributes all of its keys, its position array is null and the joined keys
+ * reuse its key array, so sets over the same universe keep sharing one array and are joined
+ * by a plain index-aligned loop.
+ *
+ * @author Evgeny Mironenko
+ */
+final class SortedJoin {
+
+    /**
+     * Joined keys in ascending order.
+     */
+    final double[] x;
+    /**
+     * Positions of the joined keys in the left operand, or null if they are 0..n-1.
+     */
+    final int[] left;
+    /**
+     * Positions of the joined keys in the right operand, or null if they are 0..n-1.
+     */
+    final int[] right;
+
+    private SortedJoin(double[] x, int[] left, int[] right) {
+        this.x = x;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Joins the specified ascending key arrays.
+     *
+     * @param a keys of the left operand.
+     * @param b keys of the right operand.
+     * @return see description.
+     */
+    static SortedJoin of(double[] a, double[] b) {
+        if (a == b) {
+            return new SortedJoin(a, null, null);
+        }
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            int c = Double.compare(a[i], b[j]);
+            if (c < 0) {
+                i++;
+            } else if (c > 0) {
+                j++;
+            } else {
+                size++;
+                i++;
+                j++;
+            }
+        }
+        boolean leftFull = size == a.length;
+        boolean rightFull = size == b.length;
+        if (leftFull && rightFull) {
+            return new SortedJoin(a, null, null);
+        }
+        int[] left = leftFull ? null : new int[size];
+        int[] right = rightFull ? null : new int[size];
+        double[] x = leftFull ? a : rightFull ? b : new double[size];
+        for (int i = 0, j = 0, k = 0; k < size; ) {
+            int c = Double.compare(a[i], b[j]);
+            if (c < 0) {
+                i++;
+            } else if (c > 0) {
+                j++;
+            } else {
+                if (left != null) {
+                    left[k] = i;
+                }
+                if (right != null) {
+                    right[k] = j;
+                }
+                if (x != a && x != b) {
+                    x[k] = a[i];
+                }
+                k++;
+                i++;
+                j++;
+            }
+        }
+        return new SortedJoin(x, left, right);
+    }
+
+    /**
+     * Returns a number of joined keys.
+     *
+     * @return see description.
+     */
+    int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns a position of the k-th joined key in the left operand.
+     *
+     * @param k a joined position.
+     * @return see description.
+     */
+    int left(int k) {
+        return left == null ? k : left[k];
+    }
+
+    /**
+     * Returns a position of the k-th joined key in the right operand.
+     *
+     * @param k a joined position.
+     * @return see description.
+     */
+    int right(int k) {
+        return right == null ? k : right[k];
+    }
+
+    /**
+     * Returns membership values of the left operand aligned with {@link #x}.
+     * The specified array itself is returned if no gathering is needed.
+     *
+     * @param mu membership values of the left operand.
+     * @return see description.
+     */
+    double[] alignLeft(double[] mu) {
+        return left == null ? mu : gather(mu, left);
+    }
+
+    /**
+     * Returns membership values of the right operand aligned with {@link #x}.
+     * The specified array itself is returned if no gathering is needed.
+     *
+     * @param mu membership values of the right operand.
+     * @return see description.
+     */
+    double[] alignRight(double[] mu) {
+        return right == null ? mu : gather(mu, right);
+    }
+
+    /**
+     * Returns 8-bit levels of the left operand aligned with {@link #x}, see {@link #alignLeft(double[])}.
+     *
+     * @param levels levels of the left operand.
+     * @return see description.
+     */
+    byte[] alignLeft(byte[] levels) {
+        return left == null ? levels : gather(levels, left);
+    }
+
+    /**
+     * Returns 8-bit levels of the right operand aligned with {@link #x}, see {@link #alignRight(double[])}.
+     *
+     * @param levels levels of the right operand.
+     * @return see description.
+     */
+    byte[] alignRight(byte[] levels) {
+        return right == null ? levels : gather(levels, right);
+    }
+
+    /**
+     * Returns 16-bit levels of the left operand aligned with {@link #x}, see {@link #alignLeft(double[])}.
+     *
+     * @param levels levels of the left operand.
+     * @return see description.
+     */
+    char[] alignLeft(char[] levels) {
+        return left == null ? levels : gather(levels, left);
+    }
+
+    /**
+     * Returns 16-bit levels of the right operand aligned with {@link #x}, see {@link #alignRight(double[])}.
+     *
+     * @param levels levels of the right operand.
+     * @return see description.
+     */
+    char[] alignRight(char[] levels) {
+        return right == null ? levels : gather(levels, right);
+    }
+
+    private static byte[] gather(byte[] levels, int[] positions) {
+        byte[] result = new byte[positions.length];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = levels[positions[k]];
+        }
+        return result;
+    }
+
+    private static char[] gather(char[] levels, int[] positions) {
+        char[] result = new char[positions.length];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = levels[positions[k]];
+        }
+        return result;
+    }
+
+    private static double[] gather(double[] mu, int[] positions) {
+        double[] result = new double[positions.length];
+        for (int k = 0; k < result.length; k++) {
+            result[k] = mu[positions[k]];
+        }
+        return result;
+    }
+}
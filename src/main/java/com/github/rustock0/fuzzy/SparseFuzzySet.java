@@ -0,0 +1,344 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Fuzzy set which stores only its support: every key which isn't stored has membership 0.
+ * <p>
+ * Keys are kept in ascending order, so binary operations merge two supports in O(|A| + |B|) time,
+ * whatever the size of the universe. Since every t-conorm S has S(a, 0) = a and every t-norm T has T(a, 0) = 0,
+ * a union covers both supports and an intersection covers their common keys. Distances also treat
+ * the keys missing in one set as 0, so sets with non-overlapping supports are handled correctly.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class SparseFuzzySet {
+
+    private final double[] x;
+    private final double[] mu;
+
+    private SparseFuzzySet(double[] x, double[] mu) {
+        this.x = x;
+        this.mu = mu;
+    }
+
+    /**
+     * Creates a sparse set from the specified points. Keys may be given in any order, but must be unique.
+     * Points with membership 0 are dropped.
+     *
+     * @param x  keys of the points.
+     * @param mu membership values of the points.
+     * @return see description.
+     */
+    public static SparseFuzzySet of(double[] x, double[] mu) {
+        return of(new FuzzySet(x, mu, true, false));
+    }
+
+    /**
+     * Creates a sparse set from the support of the specified fuzzy set.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public static SparseFuzzySet of(FuzzySet fuzzySet) {
+        return compact(fuzzySet.x, fuzzySet.mu, fuzzySet.x.length);
+    }
+
+    /**
+     * Returns a sparse set of the first points of the specified arrays which have positive membership.
+     */
+    private static SparseFuzzySet compact(double[] x, double[] mu, int length) {
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (mu[i] > 0.0) {
+                size++;
+            }
+        }
+        if (size == x.length) {
+            return new SparseFuzzySet(x.clone(), mu.clone());
+        }
+        double[] keys = new double[size];
+        double[] values = new double[size];
+        for (int i = 0, k = 0; k < size; i++) {
+            if (mu[i] > 0.0) {
+                keys[k] = x[i];
+                values[k] = mu[i];
+                k++;
+            }
+        }
+        return new SparseFuzzySet(keys, values);
+    }
+
+    /**
+     * Returns a fuzzy set of the support.
+     *
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet() {
+        return new FuzzySet(x, mu.clone(), null);
+    }
+
+    /**
+     * Returns a fuzzy set over the specified universe, with membership 0 for the keys out of the support.
+     * The keys are copied, use {@link #toFuzzySet(Universe)} to share them between sets.
+     *
+     * @param universe keys in ascending order, they must contain the support.
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet(double[] universe) {
+        return new FuzzySet(universe.clone(), expand(universe), false, false);
+    }
+
+    /**
+     * Returns a lazy fuzzy set over the specified universe, with membership 0 for the keys out of the support.
+     * The set references the keys of the universe.
+     *
+     * @param universe a universe which contains the support.
+     * @return see description.
+     */
+    public FuzzySet toFuzzySet(Universe universe) {
+        return new FuzzySet(universe, expand(universe.x));
+    }
+
+    private double[] expand(double[] universe) {
+        double[] result = new double[universe.length];
+        for (int i = 0, j = 0; i < x.length; i++) {
+            while (j < universe.length && universe[j] < x[i]) {
+                j++;
+            }
+            if (j == universe.length || universe[j] != x[i]) {
+                throw new IllegalArgumentException("Key " + x[i] + " is out of the universe");
+            }
+            result[j] = mu[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a number of keys in the support.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns keys of the support in ascending order.
+     *
+     * @return see description.
+     */
+    public double[] getSupport() {
+        return x.clone();
+    }
+
+    /**
+     * Returns a membership value of the specified key, 0 if it's out of the support.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public double getMembership(double key) {
+        int i = Arrays.binarySearch(x, key);
+        return i >= 0 ? mu[i] : 0.0;
+    }
+
+    /**
+     * Returns a height "supremum(set)".
+     *
+     * @return see description.
+     */
+    public double getHeight() {
+        double result = 0.0;
+        for (double value : mu) {
+            result = Math.max(result, value);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a cardinality, i.e. a sum of membership values.
+     *
+     * @return see description.
+     */
+    public double getCardinality() {
+        double result = 0.0;
+        for (double value : mu) {
+            result += value;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a result of defuzzification, see {@link FuzzySet#getDefuzzificationCOG()}.
+     *
+     * @return see description.
+     */
+    public double getDefuzzificationCOG() {
+        double sum1 = 0;
+        double sum2 = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum1 += x[i] * mu[i];
+            sum2 += mu[i];
+        }
+        return sum1 / sum2;
+    }
+
+    /**
+     * Returns keys of an alpha cut in ascending order. The cut of alpha 0 is the whole universe,
+     * which isn't known to a sparse set, so alpha must be positive.
+     *
+     * @param alpha a number between 0 (exclusive) and 1.
+     * @return see description.
+     */
+    public double[] getAlphaCut(double alpha) {
+        if (!(alpha > 0)) {
+            throw new IllegalArgumentException("Invalid alpha for a sparse set: " + alpha);
+        }
+        double[] result = new double[x.length];
+        int size = 0;
+        for (int i = 0; i < x.length; i++) {
+            if (mu[i] >= alpha) {
+                result[size++] = x[i];
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns an union of the current and specified sets over both supports.
+     *
+     * @param anotherSet an another sparse set.
+     * @param conorm     a t-conorm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public SparseFuzzySet getUnion(SparseFuzzySet anotherSet, TConorm conorm) {
+        double[] keys = new double[x.length + anotherSet.x.length];
+        double[] values = new double[keys.length];
+        int k = 0;
+        int i = 0;
+        int j = 0;
+        while (i < x.length || j < anotherSet.x.length) {
+            int c = i == x.length ? 1 : j == anotherSet.x.length ? -1 : Double.compare(x[i], anotherSet.x[j]);
+            if (c < 0) {
+                keys[k] = x[i];
+                values[k] = conorm.apply(mu[i++], 0.0);
+            } else if (c > 0) {
+                keys[k] = anotherSet.x[j];
+                values[k] = conorm.apply(0.0, anotherSet.mu[j++]);
+            } else {
+                keys[k] = x[i];
+                values[k] = conorm.apply(mu[i++], anotherSet.mu[j++]);
+            }
+            k++;
+        }
+        return compact(keys, values, k);
+    }
+
+    /**
+     * Returns an intersection of the current and specified sets over their common keys.
+     *
+     * @param anotherSet an another sparse set.
+     * @param norm       a t-norm, applied as (mu of the current set, mu of another set).
+     * @return see description.
+     */
+    public SparseFuzzySet getIntersection(SparseFuzzySet anotherSet, TNorm norm) {
+        double[] keys = new double[Math.min(x.length, anotherSet.x.length)];
+        double[] values = new double[keys.length];
+        int k = 0;
+        for (int i = 0, j = 0; i < x.length && j < anotherSet.x.length; ) {
+            int c = Double.compare(x[i], anotherSet.x[j]);
+            if (c < 0) {
+                i++;
+            } else if (c > 0) {
+                j++;
+            } else {
+                keys[k] = x[i];
+                values[k] = norm.apply(mu[i++], anotherSet.mu[j++]);
+                k++;
+            }
+        }
+        return compact(keys, values, k);
+    }
+
+    /**
+     * Deducts the specified set from the current one, i.e. intersects the current set with the addition
+     * of another set. The result is within the support of the current set.
+     *
+     * @param anotherSet an another sparse set.
+     * @param norm       a t-norm used for the intersection.
+     * @return see description.
+     */
+    public SparseFuzzySet deduct(SparseFuzzySet anotherSet, TNorm norm) {
+        double[] values = new double[x.length];
+        for (int i = 0, j = 0; i < x.length; i++) {
+            while (j < anotherSet.x.length && anotherSet.x[j] < x[i]) {
+                j++;
+            }
+            double other = j < anotherSet.x.length && anotherSet.x[j] == x[i] ? anotherSet.mu[j] : 0.0;
+            values[i] = norm.apply(mu[i], 1 - other);
+        }
+        return compact(x, values, x.length);
+    }
+
+    /**
+     * Returns a Hamming distance: a sum of |a - b| over both supports.
+     *
+     * @param anotherSet an another sparse set.
+     * @return see description.
+     */
+    public double getHammingDistance(SparseFuzzySet anotherSet) {
+        return distance(anotherSet, false);
+    }
+
+    /**
+     * Returns an Euclidean distance: a square root of a sum of (a - b)^2 over both supports.
+     *
+     * @param anotherSet an another sparse set.
+     * @return see description.
+     */
+    public double getEuclideanDistance(SparseFuzzySet anotherSet) {
+        return Math.sqrt(distance(anotherSet, true));
+    }
+
+    private double distance(SparseFuzzySet anotherSet, boolean squared) {
+        double result = 0.0;
+        int i = 0;
+        int j = 0;
+        while (i < x.length || j < anotherSet.x.length) {
+            int c = i == x.length ? 1 : j == anotherSet.x.length ? -1 : Double.compare(x[i], anotherSet.x[j]);
+            double difference;
+            if (c < 0) {
+                difference = mu[i++];
+            } else if (c > 0) {
+                difference = anotherSet.mu[j++];
+            } else {
+                difference = Math.abs(mu[i++] - anotherSet.mu[j++]);
+            }
+            result += squared ? difference * difference : difference;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SparseFuzzySet that = (SparseFuzzySet) o;
+
+        return Arrays.equals(x, that.x) && Arrays.equals(mu, that.mu);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(x) + Arrays.hashCode(mu);
+    }
+
+    @Override
+    public String toString() {
+        return "SparseFuzzySet{" +
+            "set=" + toFuzzySet().getSet() +
+            '}';
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Builds a fuzzy set from an unbounded stream of samples in bounded memory: a normalized histogram
+ * whose highest bin has membership 1.
+ * <p>
+ * Two kinds of histograms are supported. {@link #histogram(double, double, int)} counts samples in fixed
+ * bins of equal width, samples out of the range are counted in the edge bins; all snapshots share one
+ * {@link Universe} of bin centers. {@link #sketch(int)} keeps at most the specified number of centroids which
+ * adapt to the data: every sample becomes a centroid and the two closest centroids are merged
+ * into their weighted mean when there are too many of them.
+ * <p>
+ * By default all samples have equal weight. {@link #slidingWindow(int)} keeps only the latest samples
+ * (fixed bins only, it remembers the bins of the window), {@link #decay(double)} makes the weight of a sample
+ * halve every specified number of newer samples. A window must be chosen before the first sample.
+ * {@link #snapshot()} may be called at any time and doesn't affect the builder. The builder is not thread-safe.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class StreamingFuzzySetBuilder {
+
+    /**
+     * Weight increment after which all weights are scaled down to keep them finite.
+     */
+    private static final double RESCALE_LIMIT = 1e150;
+
+    private final double from;
+    private final double width;
+    private final Universe universe;
+    /**
+     * Keys of the centroids of a sketch, or null for fixed bins.
+     */
+    private final double[] keys;
+    private final double[] weights;
+    private int size;
+    private long count;
+    private int[] window;
+    private double growth = 1.0;
+    private double increment = 1.0;
+
+    private StreamingFuzzySetBuilder(double from, double width, Universe universe, double[] keys, double[] weights) {
+        this.from = from;
+        this.width = width;
+        this.universe = universe;
+        this.keys = keys;
+        this.weights = weights;
+        this.size = keys == null ? weights.length : 0;
+    }
+
+    /**
+     * Creates a builder which counts samples in fixed bins of equal width.
+     *
+     * @param from a lower bound of the first bin.
+     * @param to   an upper bound of the last bin.
+     * @param bins a number of bins.
+     * @return see description.
+     */
+    public static StreamingFuzzySetBuilder histogram(double from, double to, int bins) {
+        if (bins < 1) {
+            throw new IllegalArgumentException("Invalid number of bins: " + bins);
+        }
+        if (!(from < to) || Double.isInfinite(from) || Double.isInfinite(to)) {
+            throw new IllegalArgumentException("Invalid interval: [" + from + ";" + to + "]");
+        }
+        double width = (to - from) / bins;
+        double[] centers = new double[bins];
+        for (int i = 0; i < bins; i++) {
+            centers[i] = from + (i + 0.5) * width;
+        }
+        return new StreamingFuzzySetBuilder(from, width, new Universe(centers), null, new double[bins]);
+    }
+
+    /**
+     * Creates a builder which keeps an adaptive sketch of at most the specified number of centroids.
+     *
+     * @param centroids a maximum number of centroids, at least 2.
+     * @return see description.
+     */
+    public static StreamingFuzzySetBuilder sketch(int centroids) {
+        if (centroids < 2) {
+            throw new IllegalArgumentException("Invalid number of centroids: " + centroids);
+        }
+        return new StreamingFuzzySetBuilder(0, 0, null, new double[centroids + 1], new double[centroids + 1]);
+    }
+
+    /**
+     * Keeps only the specified number of latest samples. Supported by fixed bins only.
+     *
+     * @param samples a size of the window.
+     * @return the current builder.
+     */
+    public StreamingFuzzySetBuilder slidingWindow(int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Invalid window size: " + samples);
+        }
+        if (keys != null) {
+            throw new UnsupportedOperationException("Sliding window isn't supported by a sketch");
+        }
+        checkWindow();
+        window = new int[samples];
+        return this;
+    }
+
+    /**
+     * Decays the weight of every sample by half after the specified number of newer samples.
+     *
+     * @param halfLife a positive number of samples.
+     * @return the current builder.
+     */
+    public StreamingFuzzySetBuilder decay(double halfLife) {
+        if (!(halfLife > 0) || Double.isInfinite(halfLife)) {
+            throw new IllegalArgumentException("Invalid half-life: " + halfLife);
+        }
+        checkWindow();
+        growth = Math.pow(2, 1 / halfLife);
+        return this;
+    }
+
+    private void checkWindow() {
+        if (count > 0) {
+            throw new IllegalStateException("Window must be chosen before the first sample");
+        }
+        if (window != null || growth != 1.0) {
+            throw new IllegalStateException("Window is already chosen");
+        }
+    }
+
+    /**
+     * Adds the specified sample.
+     *
+     * @param sample a sample.
+     * @return the current builder.
+     */
+    public StreamingFuzzySetBuilder add(double sample) {
+        if (Double.isNaN(sample)) {
+            throw new IllegalArgumentException("Invalid sample: " + sample);
+        }
+        if (count > 0 && growth != 1.0) {
+            increment *= growth;
+            if (increment > RESCALE_LIMIT) {
+                rescale();
+            }
+        }
+        if (keys == null) {
+            int bin = bin(sample);
+            if (window != null) {
+                int slot = (int) (count % window.length);
+                if (count >= window.length) {
+                    weights[window[slot]] -= 1.0;
+                }
+                window[slot] = bin;
+            }
+            weights[bin] += increment;
+        } else {
+            insert(sample, increment);
+        }
+        count++;
+        return this;
+    }
+
+    /**
+     * Adds the specified samples in order.
+     *
+     * @param samples samples.
+     * @return the current builder.
+     */
+    public StreamingFuzzySetBuilder addAll(double... samples) {
+        for (double sample : samples) {
+            add(sample);
+        }
+        return this;
+    }
+
+    /**
+     * Returns a number of samples added to the builder, including the ones out of the window.
+     *
+     * @return see description.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns a lazy fuzzy set of the current histogram normalized by its highest bin.
+     * Keys are bin centers for fixed bins and centroids for a sketch.
+     *
+     * @return see description.
+     */
+    public FuzzySet snapshot() {
+        if (count == 0) {
+            throw new IllegalStateException("No samples");
+        }
+        double max = 0.0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, weights[i]);
+        }
+        double[] mu = new double[size];
+        for (int i = 0; i < size; i++) {
+            mu[i] = weights[i] / max;
+        }
+        return keys == null ? new FuzzySet(universe, mu) : new FuzzySet(Arrays.copyOf(keys, size), mu, null);
+    }
+
+    private int bin(double sample) {
+        double position = (sample - from) / width;
+        if (!(position >= 0)) {
+            return 0;
+        }
+        return (int) Math.min(position, weights.length - 1);
+    }
+
+    /**
+     * Inserts a centroid and merges the two closest ones if there are too many centroids.
+     */
+    private void insert(double key, double weight) {
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            weights[i] += weight;
+            return;
+        }
+        i = -i - 1;
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(weights, i, weights, i + 1, size - i);
+        keys[i] = key;
+        weights[i] = weight;
+        size++;
+        if (size < keys.length) {
+            return;
+        }
+        int closest = 0;
+        for (int k = 1; k < size - 1; k++) {
+            if (keys[k + 1] - keys[k] < keys[closest + 1] - keys[closest]) {
+                closest = k;
+            }
+        }
+        double merged = weights[closest] + weights[closest + 1];
+        double mean = (keys[closest] * weights[closest] + keys[closest + 1] * weights[closest + 1]) / merged;
+        // rounding must not move the mean out of the merged pair, so keys stay unique
+        keys[closest] = Math.min(Math.max(mean, keys[closest]), keys[closest + 1]);
+        weights[closest] = merged;
+        System.arraycopy(keys, closest + 2, keys, closest + 1, size - closest - 2);
+        System.arraycopy(weights, closest + 2, weights, closest + 1, size - closest - 2);
+        size--;
+    }
+
+    private void rescale() {
+        for (int i = 0; i < size; i++) {
+            weights[i] /= increment;
+        }
+        increment = 1.0;
+    }
+}
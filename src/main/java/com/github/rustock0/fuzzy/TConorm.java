@@ -0,0 +1,87 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Triangular conorm, i.e. a fuzzy union (OR) of two membership values.
+ * <p>
+ * Built-in conorms override {@link #apply(double[], double[], double[])} with their own loop,
+ * so every bulk call site sees a single implementation and the JIT can inline the formula.
+ *
+ * @author Evgeny Mironenko
+ */
+public interface TConorm {
+
+    /**
+     * Returns a result of the conorm for the specified membership values.
+     *
+     * @param a a first membership value.
+     * @param b a second membership value.
+     * @return see description.
+     */
+    double apply(double a, double b);
+
+    /**
+     * Applies the conorm to index-aligned membership values: result[i] = apply(a[i], b[i]) for every index of result.
+     *
+     * @param a      first membership values.
+     * @param b      second membership values.
+     * @param result destination array.
+     */
+    default void apply(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = apply(a[i], b[i]);
+        }
+    }
+
+    /**
+     * Returns the maximum (Zadeh) t-conorm: max(a, b).
+     *
+     * @return see description.
+     */
+    static TConorm maximum() {
+        return Norms.MAXIMUM;
+    }
+
+    /**
+     * Returns the probabilistic sum t-conorm: a + b - a * b.
+     *
+     * @return see description.
+     */
+    static TConorm probabilisticSum() {
+        return Norms.PROBABILISTIC_SUM;
+    }
+
+    /**
+     * Returns the Lukasiewicz (bounded sum) t-conorm: min(1, a + b).
+     *
+     * @return see description.
+     */
+    static TConorm lukasiewicz() {
+        return Norms.LUKASIEWICZ_T_CONORM;
+    }
+
+    /**
+     * Returns the Hamacher t-conorm: (a + b + (lambda - 2) * a * b) / (1 + (lambda - 1) * a * b).
+     *
+     * @param lambda a non-negative parameter, 1 gives the probabilistic sum.
+     * @return see description.
+     */
+    static TConorm hamacher(double lambda) {
+        if (!(lambda >= 0) || Double.isInfinite(lambda)) {
+            throw new IllegalArgumentException("Invalid Hamacher parameter: " + lambda);
+        }
+        return new Norms.HamacherTConorm(lambda);
+    }
+
+    /**
+     * Returns the Yager t-conorm: min(1, (a^p + b^p)^(1/p)).
+     *
+     * @param p a positive parameter, 1 gives the Lukasiewicz t-conorm, infinity gives the maximum.
+     * @return see description.
+     */
+    static TConorm yager(double p) {
+        if (!(p > 0)) {
+            throw new IllegalArgumentException("Invalid Yager parameter: " + p);
+        }
+        return Double.isInfinite(p) ? maximum() : new Norms.YagerTConorm(p);
+    }
+}
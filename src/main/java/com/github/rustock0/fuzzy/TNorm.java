@@ -0,0 +1,87 @@
+package com.github.rustock0.fuzzy;
+
+/**
+ * Triangular norm, i.e. a fuzzy intersection (AND) of two membership values.
+ * <p>
+ * Built-in norms override {@link #apply(double[], double[], double[])} with their own loop,
+ * so every bulk call site sees a single implementation and the JIT can inline the formula.
+ *
+ * @author Evgeny Mironenko
+ */
+public interface TNorm {
+
+    /**
+     * Returns a result of the norm for the specified membership values.
+     *
+     * @param a a first membership value.
+     * @param b a second membership value.
+     * @return see description.
+     */
+    double apply(double a, double b);
+
+    /**
+     * Applies the norm to index-aligned membership values: result[i] = apply(a[i], b[i]) for every index of result.
+     *
+     * @param a      first membership values.
+     * @param b      second membership values.
+     * @param result destination array.
+     */
+    default void apply(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = apply(a[i], b[i]);
+        }
+    }
+
+    /**
+     * Returns the minimum (Zadeh) t-norm: min(a, b).
+     *
+     * @return see description.
+     */
+    static TNorm minimum() {
+        return Norms.MINIMUM;
+    }
+
+    /**
+     * Returns the algebraic product t-norm: a * b.
+     *
+     * @return see description.
+     */
+    static TNorm product() {
+        return Norms.PRODUCT;
+    }
+
+    /**
+     * Returns the Lukasiewicz (bounded difference) t-norm: max(0, a + b - 1).
+     *
+     * @return see description.
+     */
+    static TNorm lukasiewicz() {
+        return Norms.LUKASIEWICZ_T_NORM;
+    }
+
+    /**
+     * Returns the Hamacher t-norm: a * b / (lambda + (1 - lambda) * (a + b - a * b)).
+     *
+     * @param lambda a non-negative parameter, 0 gives the Hamacher product, 1 gives the algebraic product.
+     * @return see description.
+     */
+    static TNorm hamacher(double lambda) {
+        if (!(lambda >= 0) || Double.isInfinite(lambda)) {
+            throw new IllegalArgumentException("Invalid Hamacher parameter: " + lambda);
+        }
+        return new Norms.HamacherTNorm(lambda);
+    }
+
+    /**
+     * Returns the Yager t-norm: max(0, 1 - ((1 - a)^p + (1 - b)^p)^(1/p)).
+     *
+     * @param p a positive parameter, 1 gives the Lukasiewicz t-norm, infinity gives the minimum.
+     * @return see description.
+     */
+    static TNorm yager(double p) {
+        if (!(p > 0)) {
+            throw new IllegalArgumentException("Invalid Yager parameter: " + p);
+        }
+        return Double.isInfinite(p) ? minimum() : new Norms.YagerTNorm(p);
+    }
+}
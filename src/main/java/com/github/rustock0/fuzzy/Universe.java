@@ -0,0 +1,165 @@
+package com.github.rustock0.fuzzy;
+
+import java.util.Arrays;
+
+/**
+ * Universe of discourse: an immutable array of unique keys in ascending order, shared by a family of sets.
+ * <p>
+ * Sets created over a universe reference its key array and store only their membership values.
+ * Operations between two sets over one universe recognize it by reference: keys aren't compared at all,
+ * membership values are combined by a plain index-aligned loop and the result is over the same universe.
+ * Use {@link FuzzySet#hasSameUniverse(FuzzySet)} to check that two sets are combined this way.
+ *
+ * @author Evgeny Mironenko
+ */
+public final class Universe {
+
+    final double[] x;
+    private final int hash;
+
+    /**
+     * Creates a universe over the specified keys.
+     *
+     * @param x unique keys in ascending order, shared, not copied.
+     */
+    Universe(double[] x) {
+        this.x = x;
+        this.hash = Arrays.hashCode(x);
+    }
+
+    /**
+     * Creates a universe of the specified keys. Keys may be given in any order, but must be unique.
+     *
+     * @param keys keys of the universe.
+     * @return see description.
+     */
+    public static Universe of(double... keys) {
+        double[] x = keys.clone();
+        Arrays.sort(x);
+        for (int i = 1; i < x.length; i++) {
+            if (Double.compare(x[i - 1], x[i]) == 0) {
+                throw new IllegalArgumentException("Duplicate key: " + x[i]);
+            }
+        }
+        return new Universe(x);
+    }
+
+    /**
+     * Creates a universe of evenly spaced keys. The first and the last keys are exactly the bounds.
+     *
+     * @param from   a first key.
+     * @param to     a last key.
+     * @param points a number of keys, at least 2.
+     * @return see description.
+     */
+    public static Universe uniform(double from, double to, int points) {
+        if (points < 2) {
+            throw new IllegalArgumentException("Invalid number of points: " + points);
+        }
+        if (!(from < to) || Double.isInfinite(from) || Double.isInfinite(to)) {
+            throw new IllegalArgumentException("Invalid interval: [" + from + ";" + to + "]");
+        }
+        double[] x = new double[points];
+        double step = (to - from) / (points - 1);
+        for (int i = 0; i < points - 1; i++) {
+            x[i] = from + i * step;
+        }
+        x[points - 1] = to;
+        return new Universe(x);
+    }
+
+    /**
+     * Returns a number of keys.
+     *
+     * @return see description.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Returns a key of the specified position.
+     *
+     * @param i a position in ascending order.
+     * @return see description.
+     */
+    public double getKey(int i) {
+        return x[i];
+    }
+
+    /**
+     * Returns a position of the specified key, or a negative value if there is no such key.
+     *
+     * @param key some key.
+     * @return see description.
+     */
+    public int indexOf(double key) {
+        return Arrays.binarySearch(x, key);
+    }
+
+    /**
+     * Returns a copy of the keys in ascending order.
+     *
+     * @return see description.
+     */
+    public double[] getKeys() {
+        return x.clone();
+    }
+
+    /**
+     * Creates a fuzzy set over the current universe.
+     *
+     * @param mu membership values aligned with the keys, copied.
+     * @return see description.
+     */
+    public FuzzySet fuzzySet(double... mu) {
+        FuzzySet result = lazyFuzzySet(mu);
+        result.calculate();
+        return result;
+    }
+
+    /**
+     * Creates a fuzzy set over the current universe whose derived properties are calculated on first access.
+     *
+     * @param mu membership values aligned with the keys, copied.
+     * @return see description.
+     */
+    public FuzzySet lazyFuzzySet(double... mu) {
+        if (mu.length != x.length) {
+            throw new IllegalArgumentException("Universe has " + x.length + " keys, but got " + mu.length + " values");
+        }
+        return new FuzzySet(this, mu.clone());
+    }
+
+    /**
+     * Returns true if the specified set references the current universe.
+     *
+     * @param fuzzySet a fuzzy set.
+     * @return see description.
+     */
+    public boolean contains(FuzzySet fuzzySet) {
+        return fuzzySet.x == x;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Universe that = (Universe) o;
+
+        return x == that.x || hash == that.hash && Arrays.equals(x, that.x);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Universe{" +
+            "keys=" + Arrays.toString(x) +
+            '}';
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.rustock0.fuzzy;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementation of the kernels based on the {@code jdk.incubator.vector} API.
+ * Every kernel processes full vectors of the preferred species and finishes the tail with a scalar loop.
+ *
+ * @author Evgeny Mironenko
+ */
+final class VectorKernels extends Kernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("No SIMD support: " + SPECIES);
+        }
+    }
+
+    @Override
+    void max(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.max(vb).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.max(a[i], b[i]);
+        }
+    }
+
+    @Override
+    void min(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.min(vb).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.min(a[i], b[i]);
+        }
+    }
+
+    @Override
+    void product(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.mul(vb).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    void probabilisticSum(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.add(vb).sub(va.mul(vb)).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = a[i] + b[i] - a[i] * b[i];
+        }
+    }
+
+    @Override
+    void boundedSum(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.add(vb).min(1.0).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.min(1, a[i] + b[i]);
+        }
+    }
+
+    @Override
+    void boundedDifference(double[] a, double[] b, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.add(vb).sub(1.0).max(0.0).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.max(0, a[i] + b[i] - 1);
+        }
+    }
+
+    @Override
+    void complement(double[] a, double[] result) {
+        int i = 0;
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            one.sub(DoubleVector.fromArray(SPECIES, a, i)).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = 1 - a[i];
+        }
+    }
+
+    @Override
+    void square(double[] a, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            va.mul(va).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = a[i] * a[i];
+        }
+    }
+
+    @Override
+    void sqrt(double[] a, double[] result) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.SQRT).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.sqrt(a[i]);
+        }
+    }
+
+    @Override
+    void symmetricDifference(double[] a, double[] b, double[] result) {
+        int i = 0;
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            va.min(one.sub(vb)).max(one.sub(va).min(vb)).intoArray(result, i);
+        }
+        for (; i < result.length; i++) {
+            result[i] = Math.max(Math.min(a[i], 1 - b[i]), Math.min(1 - a[i], b[i]));
+        }
+    }
+
+    @Override
+    double absDifferenceSum(double[] a, double[] b, int length) {
+        int i = 0;
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, i);
+            sum = sum.add(va.sub(vb).abs());
+        }
+        double result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            result += Math.abs(a[i] - b[i]);
+        }
+        return result;
+    }
+
+    @Override
+    double squaredDifferenceSum(double[] a, double[] b, int length) {
+        int i = 0;
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            DoubleVector difference = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i));
+            sum = difference.fma(difference, sum);
+        }
+        double result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            double difference = a[i] - b[i];
+            result += difference * difference;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchDefuzzifierTest {
+
+    @Test
+    public void testDefuzzify() {
+        FuzzySet fuzzySet = new FuzzySet(new LinkedHashMap<Double, Double>() {{
+            put(1.0, 0.6);
+            put(2.0, 0.5);
+            put(9.0, 0.3);
+            put(8.0, 0.8);
+            put(4.0, 0.0);
+        }});
+        BatchDefuzzifier defuzzifier = new BatchDefuzzifier(BatchDefuzzifier.Method.ROM, BatchDefuzzifier.Method.COG,
+            BatchDefuzzifier.Method.LOM, BatchDefuzzifier.Method.MOM);
+        double[] result = new double[4];
+        defuzzifier.defuzzify(Arrays.asList(fuzzySet), result);
+        assertEquals(8.0, result[0], 0.0);
+        assertEquals(4.863636363636363, result[1], 1e-12);
+        assertEquals(1.0, result[2], 0.0);
+        assertEquals(8.0, result[3], 0.0);
+    }
+
+    @Test
+    public void testDefuzzifyLargeBatch() {
+        double[] universe = new double[64];
+        for (int i = 0; i < universe.length; i++) {
+            universe[i] = i * 0.5;
+        }
+        Random random = new Random(3);
+        List<FuzzySet> sets = new ArrayList<>();
+        for (int n = 0; n < BatchDefuzzifier.PARALLEL_THRESHOLD * 2; n++) {
+            double[] mu = new double[universe.length];
+            for (int i = 0; i < mu.length; i++) {
+                mu[i] = Math.round(random.nextDouble() * 4) / 4.0;
+            }
+            sets.add(FuzzySet.lazy(universe, mu));
+        }
+        BatchDefuzzifier defuzzifier = new BatchDefuzzifier(BatchDefuzzifier.Method.values());
+        double[] result = new double[sets.size() * 4];
+        defuzzifier.defuzzify(sets, result);
+        for (int n = 0; n < sets.size(); n++) {
+            FuzzySet fuzzySet = sets.get(n);
+            assertEquals(fuzzySet.getDefuzzificationCOG(), result[n * 4], 0.0);
+            assertEquals(fuzzySet.getDefuzzificationMOM(), result[n * 4 + 1], 0.0);
+            assertEquals(fuzzySet.getDefuzzificationLOM(), result[n * 4 + 2], 0.0);
+            assertEquals(fuzzySet.getDefuzzificationROM(), result[n * 4 + 3], 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResultTooSmall() {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{1.0}, new double[]{1.0});
+        new BatchDefuzzifier(BatchDefuzzifier.Method.COG, BatchDefuzzifier.Method.MOM)
+            .defuzzify(Arrays.asList(fuzzySet, fuzzySet), new double[3]);
+    }
+}
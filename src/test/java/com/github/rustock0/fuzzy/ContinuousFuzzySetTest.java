@@ -0,0 +1,54 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ContinuousFuzzySetTest {
+
+    @Test
+    public void testTrapezoid() {
+        ContinuousFuzzySet set = new ContinuousFuzzySet(MembershipFunction.trapezoid(0, 1, 3, 4));
+        assertEquals(0.5, set.getMembership(3.5), 1e-12);
+        assertArrayEquals(new double[]{1, 3}, set.getCore(), 0.0);
+        assertArrayEquals(new double[]{0, 4}, set.getSupport(), 0.0);
+        assertArrayEquals(new double[]{0.5, 3.5}, set.getAlphaCut(0.5), 1e-12);
+        assertEquals(3.0, set.getCardinality(), 1e-12);
+        assertEquals(2.0, set.getDefuzzificationCOG(), 1e-12);
+        assertEquals(1.0, set.getDefuzzificationLOM(), 0.0);
+        assertEquals(3.0, set.getDefuzzificationROM(), 0.0);
+        assertEquals(2.0, set.getDefuzzificationMOM(), 0.0);
+    }
+
+    @Test
+    public void testMatchesSamples() {
+        ContinuousFuzzySet set = new ContinuousFuzzySet(MembershipFunction.triangle(1, 3, 7));
+        FuzzySet samples = set.discretize(Universe.uniform(1, 7, 6001));
+        assertEquals(samples.getDefuzzificationCOG(), set.getDefuzzificationCOG(), 1e-3);
+        assertEquals(samples.getDefuzzificationMOM(), set.getDefuzzificationMOM(), 1e-9);
+        double[] cut = set.getAlphaCut(0.25);
+        List<Double> keys = samples.getAlphaCut(0.25);
+        assertEquals(keys.get(0), cut[0], 1e-3);
+        assertEquals(keys.get(keys.size() - 1), cut[1], 1e-3);
+    }
+
+    @Test
+    public void testSigmoid() {
+        ContinuousFuzzySet set = new ContinuousFuzzySet(MembershipFunction.sigmoid(-2, 1));
+        assertEquals(0, set.getCore().length);
+        assertEquals(Double.NaN, set.getDefuzzificationMOM(), 0.0);
+        assertEquals(Double.NaN, set.getDefuzzificationCOG(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, set.getCardinality(), 0.0);
+        double[] cut = set.getAlphaCut(0.5);
+        assertEquals(Double.NEGATIVE_INFINITY, cut[0], 0.0);
+        assertEquals(1.0, cut[1], 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullFunction() {
+        new ContinuousFuzzySet(null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CrispSetTest {
+
+    private static final FuzzySet FUZZY_SET = new FuzzySet(new double[]{5, 1, 3, 2}, new double[]{0.6, 0.5, 1.0, 0.2});
+
+    @Test
+    public void testAlphaCut() {
+        CrispSet result = FUZZY_SET.getAlphaCutCrispSet(0.5);
+        assertEquals(4, result.getUniverseSize());
+        assertEquals(3, result.cardinality());
+        assertArrayEquals(new double[]{1, 3, 5}, result.getKeys(), 0.0);
+        assertTrue(result.contains(1.0));
+        assertFalse(result.contains(2.0));
+        assertFalse(result.contains(4.0));
+        assertArrayEquals(new double[]{3, 5}, FUZZY_SET.getStrictAlphaCutCrispSet(0.5).getKeys(), 0.0);
+    }
+
+    @Test
+    public void testNearestClearSet() {
+        CrispSet result = FUZZY_SET.getNearestClearCrispSet();
+        assertArrayEquals(new double[]{3, 5}, result.getKeys(), 0.0);
+        int members = 0;
+        for (int value : FUZZY_SET.getNearestClearSet()) {
+            members += value;
+        }
+        assertEquals(members, result.cardinality());
+    }
+
+    @Test
+    public void testAlgebra() {
+        CrispSet first = FUZZY_SET.getAlphaCutCrispSet(0.5);
+        CrispSet second = FUZZY_SET.getAlphaCutCrispSet(0.2).xor(FUZZY_SET.getAlphaCutCrispSet(0.6));
+        assertArrayEquals(new double[]{1, 2}, second.getKeys(), 0.0);
+        assertArrayEquals(new double[]{1}, first.and(second).getKeys(), 0.0);
+        assertArrayEquals(new double[]{1, 2, 3, 5}, first.or(second).getKeys(), 0.0);
+        assertArrayEquals(new double[]{2}, first.not().getKeys(), 0.0);
+        assertArrayEquals(new double[]{0, 1, 1, 1}, first.not().not().xor(second).toFuzzySet().mu, 0.0);
+    }
+
+    @Test
+    public void testLargeUniverse() {
+        int n = 1000;
+        double[] x = new double[n];
+        double[] mu = new double[n];
+        Random random = new Random(0);
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            mu[i] = random.nextDouble();
+        }
+        FuzzySet fuzzySet = new FuzzySet(x, mu);
+        CrispSet cut = fuzzySet.getAlphaCutCrispSet(0.3);
+        assertEquals(fuzzySet.getAlphaCut(0.3).size(), cut.cardinality());
+        assertEquals(n - cut.cardinality(), cut.not().cardinality());
+        assertEquals(n, cut.or(cut.not()).cardinality());
+        assertEquals(0, cut.and(cut.not()).cardinality());
+        assertEquals(cut, fuzzySet.getAlphaCutCrispSet(0.3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentUniverses() {
+        FUZZY_SET.getAlphaCutCrispSet(0.5).and(new FuzzySet(new double[]{1, 2}, new double[]{1, 1}).getAlphaCutCrispSet(0.5));
+    }
+}
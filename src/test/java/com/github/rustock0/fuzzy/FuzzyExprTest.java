@@ -0,0 +1,54 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+public class FuzzyExprTest {
+
+    private static final FuzzySet A = new FuzzySet(new double[]{1.0, 2.0, 3.0, 4.0, 5.0}, new double[]{0.2, 0.6, 1.0, 0.5, 0.0});
+    private static final FuzzySet B = new FuzzySet(new double[]{2.0, 3.0, 4.0, 5.0, 6.0}, new double[]{0.9, 0.3, 0.5, 0.4, 1.0});
+    private static final FuzzySet C = new FuzzySet(new double[]{3.0, 4.0, 5.0, 6.0}, new double[]{0.7, 0.1, 0.8, 0.2});
+
+    @Test
+    public void testSymmetricDeduction1Alg() {
+        FuzzySet result = FuzzyExpr.of(A).deductAlg(B).unionAlg(FuzzyExpr.of(B).deductAlg(A)).evaluate();
+        assertSetEquals(A.symmetricDeduction1Alg(B), result);
+    }
+
+    @Test
+    public void testSymmetricDeduction2Lim() {
+        FuzzySet result = FuzzyExpr.of(A).unionLim(B).deductLim(FuzzyExpr.of(A).intersectionLim(B)).evaluate();
+        assertSetEquals(A.symmetricDeduction2Lim(B), result);
+    }
+
+    @Test
+    public void testDeductMaxWithThreeOperands() {
+        FuzzySet result = FuzzyExpr.of(A).unionMax(B).deductMax(C).evaluate();
+        assertSetEquals(A.getUnionMax(B).deductMax(C), result);
+        assertArrayEquals(new double[]{3.0, 4.0, 5.0}, result.x, 0.0);
+    }
+
+    @Test
+    public void testHedges() {
+        FuzzySet result = FuzzyExpr.of(A).concentration().addition().stretching().evaluate();
+        double[] expected = new double[A.size()];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = Math.sqrt(1 - A.mu[i] * A.mu[i]);
+        }
+        assertSame(A.x, result.x);
+        assertArrayEquals(expected, result.mu, 1e-12);
+    }
+
+    @Test
+    public void testCustomNorms() {
+        FuzzySet result = FuzzyExpr.of(A).union(B, TConorm.hamacher(2)).intersection(C, TNorm.yager(2)).evaluate();
+        assertSetEquals(A.getUnion(B, TConorm.hamacher(2)).getIntersection(C, TNorm.yager(2)), result);
+    }
+
+    private void assertSetEquals(FuzzySet expected, FuzzySet actual) {
+        assertArrayEquals(expected.x, actual.x, 0.0);
+        assertArrayEquals(expected.mu, actual.mu, 1e-12);
+    }
+}
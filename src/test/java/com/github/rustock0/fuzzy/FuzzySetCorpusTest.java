@@ -0,0 +1,165 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FuzzySetCorpusTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final FuzzySet UNORDERED = new FuzzySet(new LinkedHashMap<Double, Double>() {{
+        put(3.0, 0.5);
+        put(1.0, 1.0);
+        put(5.0, 0.0);
+        put(8.0, 1.0);
+    }});
+    private static final FuzzyNumber NUMBER = new FuzzyNumber(new LinkedHashMap<Double, Double>() {{
+        put(1.0, 0.0);
+        put(2.0, 1.0);
+        put(3.0, 0.0);
+    }});
+    private static final FuzzySet FIRST = new FuzzySet(new double[]{1, 2, 3}, new double[]{0.2, 0.4, 0.6});
+    private static final FuzzySet SECOND = new FuzzySet(new double[]{1, 2, 3}, new double[]{0.9, 0.7, 0.5});
+
+    private Path write(List<? extends FuzzySet> sets) throws IOException {
+        Path path = folder.newFile().toPath();
+        FuzzySetCorpus.write(path, sets);
+        return path;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        try (FuzzySetCorpus corpus = FuzzySetCorpus.open(write(Arrays.asList(UNORDERED, NUMBER, FIRST, SECOND)))) {
+            assertEquals(4, corpus.size());
+            assertFalse(corpus.isFuzzyNumber(0));
+            assertTrue(corpus.isFuzzyNumber(1));
+            FuzzySet unordered = corpus.get(0);
+            assertEquals(UNORDERED, unordered);
+            assertEquals(UNORDERED.getSupport(), unordered.getSupport());
+            assertEquals(UNORDERED.getHammingDistance(FIRST), unordered.getHammingDistance(FIRST), 0.0);
+            assertTrue(corpus.get(1) instanceof FuzzyNumber);
+            assertEquals(NUMBER, corpus.get(1));
+            assertEquals(SECOND, corpus.get(3));
+        }
+    }
+
+    @Test
+    public void testSharedUniverse() throws Exception {
+        Path path = write(Arrays.asList(FIRST, SECOND));
+        assertEquals(FuzzySetCorpus.HEADER_SIZE + 2 * FuzzySetCorpus.ENTRY_SIZE + 3 * 3 * Double.BYTES, Files.size(path));
+        try (FuzzySetCorpus corpus = FuzzySetCorpus.open(path)) {
+            assertSame(corpus.get(0).x, corpus.get(1).x);
+        }
+    }
+
+    @Test
+    public void testView() throws Exception {
+        try (FuzzySetCorpus corpus = FuzzySetCorpus.open(write(Arrays.asList(FIRST, UNORDERED)))) {
+            OffHeapFuzzySet view = corpus.getView(1);
+            assertEquals(4, view.size());
+            assertEquals(UNORDERED.getHeight(), view.getHeight(), 0.0);
+            assertEquals(UNORDERED.getDefuzzificationCOG(), view.getDefuzzificationCOG(), 1e-12);
+            assertArrayEquals(UNORDERED.x, view.toFuzzySet().x, 0.0);
+            assertEquals(FIRST.getHammingDistance(SECOND), corpus.getView(0).getHammingDistance(OffHeapFuzzySet.of(SECOND)), 1e-12);
+            view.close();
+            assertEquals(0.6, corpus.getView(0).getMembership(2), 0.0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidFile() throws Exception {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[32]);
+        FuzzySetCorpus.open(path);
+    }
+
+    @Test
+    public void testCorruptedEntries() throws Exception {
+        int entry = FuzzySetCorpus.HEADER_SIZE + FuzzySetCorpus.ENTRY_SIZE;
+        assertCorrupted(entry, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(7).array());
+        assertCorrupted(entry + 4, ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(1000).array());
+        assertCorrupted(entry + 16, ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(1L << 40).array());
+        assertCorrupted(entry + 24, ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(8).array());
+        Path path = write(Arrays.asList(FIRST, UNORDERED));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 8));
+        assertCorrupted(path);
+    }
+
+    private void assertCorrupted(int position, byte[] value) throws Exception {
+        Path path = write(Arrays.asList(FIRST, UNORDERED));
+        byte[] bytes = Files.readAllBytes(path);
+        System.arraycopy(value, 0, bytes, position, value.length);
+        Files.write(path, bytes);
+        assertCorrupted(path);
+    }
+
+    private static void assertCorrupted(Path path) {
+        try {
+            FuzzySetCorpus.open(path);
+            fail("Corrupted corpus was opened");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Corrupted corpus"));
+        }
+    }
+
+    @Test
+    public void testCorruptedContents() throws Exception {
+        Path path = write(Arrays.asList(FIRST, UNORDERED));
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int entry = FuzzySetCorpus.HEADER_SIZE + FuzzySetCorpus.ENTRY_SIZE;
+        int keys = (int) buffer.getLong(entry + 8);
+        int membership = (int) buffer.getLong(entry + 16);
+        int order = (int) buffer.getLong(entry + 24);
+        assertCorrupted(path, bytes, keys + Double.BYTES, 0.5, 1);
+        assertCorrupted(path, bytes, membership, 1.5, 1);
+        assertCorrupted(path, bytes, membership + Double.BYTES, Double.NaN, 1);
+        buffer.putInt(order, 0);
+        Files.write(path, bytes);
+        try (FuzzySetCorpus corpus = FuzzySetCorpus.open(path)) {
+            assertEquals(FIRST, corpus.get(0));
+            corpus.get(1);
+            fail("Corrupted set was created");
+        } catch (IllegalStateException e) {
+            assertEquals("Corrupted corpus: entry 1, encounter order is not a permutation at position 1", e.getMessage());
+        }
+    }
+
+    private static void assertCorrupted(Path path, byte[] bytes, int position, double value, int i) throws Exception {
+        byte[] corrupted = bytes.clone();
+        ByteBuffer.wrap(corrupted).order(ByteOrder.LITTLE_ENDIAN).putDouble(position, value);
+        Files.write(path, corrupted);
+        try (FuzzySetCorpus corpus = FuzzySetCorpus.open(path)) {
+            corpus.get(i);
+            fail("Corrupted set was created");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Corrupted corpus: entry " + i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() throws Exception {
+        FuzzySetCorpus corpus = FuzzySetCorpus.open(write(Arrays.asList(FIRST)));
+        corpus.close();
+        corpus.get(0);
+    }
+}
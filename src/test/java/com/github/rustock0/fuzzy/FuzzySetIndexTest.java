@@ -0,0 +1,124 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FuzzySetIndexTest {
+
+    private static final double[] UNIVERSE = {0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0};
+    private static final List<FuzzySet> SETS = randomSets(500, 1);
+    private static final List<FuzzySet> QUERIES = randomSets(20, 2);
+
+    @Test
+    public void testNearestHamming() {
+        FuzzySetIndex index = new FuzzySetIndex(FuzzySetIndex.Metric.HAMMING, SETS);
+        assertEquals(SETS.size(), index.size());
+        for (FuzzySet query : QUERIES) {
+            assertNearest(index, FuzzySetIndex.Metric.HAMMING, query, 5);
+        }
+    }
+
+    @Test
+    public void testNearestEuclidean() {
+        FuzzySetIndex index = new FuzzySetIndex(FuzzySetIndex.Metric.EUCLIDEAN, SETS);
+        for (FuzzySet query : QUERIES) {
+            assertNearest(index, FuzzySetIndex.Metric.EUCLIDEAN, query, 3);
+        }
+    }
+
+    @Test
+    public void testNearestFindsItself() {
+        FuzzySetIndex index = new FuzzySetIndex(FuzzySetIndex.Metric.HAMMING, SETS);
+        FuzzySetIndex.Neighbor neighbor = index.nearest(SETS.get(42), 1).get(0);
+        assertSame(SETS.get(42), neighbor.getSet());
+        assertEquals(0.0, neighbor.getDistance(), 0.0);
+    }
+
+    @Test
+    public void testIncrementalAdd() {
+        FuzzySetIndex index = new FuzzySetIndex(FuzzySetIndex.Metric.EUCLIDEAN);
+        for (FuzzySet fuzzySet : SETS) {
+            index.add(fuzzySet);
+        }
+        assertEquals(SETS.size(), index.size());
+        for (FuzzySet query : QUERIES) {
+            assertNearest(index, FuzzySetIndex.Metric.EUCLIDEAN, query, 4);
+        }
+    }
+
+    @Test
+    public void testRange() {
+        FuzzySetIndex index = new FuzzySetIndex(FuzzySetIndex.Metric.HAMMING, SETS.subList(0, 250));
+        for (FuzzySet fuzzySet : SETS.subList(250, SETS.size())) {
+            index.add(fuzzySet);
+        }
+        for (FuzzySet query : QUERIES) {
+            List<FuzzySet> expected = SETS.stream()
+                .filter(fuzzySet -> query.getHammingDistance(fuzzySet) <= 1.5)
+                .sorted(Comparator.comparingDouble(query::getHammingDistance))
+                .collect(Collectors.toList());
+            List<FuzzySetIndex.Neighbor> actual = index.range(query, 1.5);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < actual.size(); i++) {
+                assertEquals(query.getHammingDistance(expected.get(i)), actual.get(i).getDistance(), 1e-12);
+                assertTrue(actual.get(i).getDistance() <= 1.5);
+            }
+        }
+    }
+
+    @Test
+    public void testIdenticalSets() {
+        FuzzySet fuzzySet = SETS.get(0);
+        List<FuzzySet> identical = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            identical.add(FuzzySet.lazy(UNIVERSE, fuzzySet.mu));
+        }
+        FuzzySetIndex built = new FuzzySetIndex(FuzzySetIndex.Metric.HAMMING, identical);
+        FuzzySetIndex added = new FuzzySetIndex(FuzzySetIndex.Metric.HAMMING);
+        for (FuzzySet set : identical) {
+            added.add(set);
+        }
+        for (FuzzySetIndex index : new FuzzySetIndex[]{built, added}) {
+            assertTrue(index.depth() < 40);
+            assertEquals(identical.size(), index.range(fuzzySet, 0.0).size());
+            List<FuzzySetIndex.Neighbor> nearest = index.nearest(fuzzySet, 10);
+            assertEquals(10, nearest.size());
+            assertEquals(0.0, nearest.get(9).getDistance(), 0.0);
+        }
+    }
+
+    private void assertNearest(FuzzySetIndex index, FuzzySetIndex.Metric metric, FuzzySet query, int k) {
+        List<Double> expected = SETS.stream()
+            .map(fuzzySet -> metric.distance(query, fuzzySet))
+            .sorted()
+            .limit(k)
+            .collect(Collectors.toList());
+        List<FuzzySetIndex.Neighbor> actual = index.nearest(query, k);
+        assertEquals(k, actual.size());
+        for (int i = 0; i < k; i++) {
+            assertEquals(expected.get(i), actual.get(i).getDistance(), 1e-12);
+        }
+    }
+
+    private static List<FuzzySet> randomSets(int count, long seed) {
+        Random random = new Random(seed);
+        List<FuzzySet> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] mu = new double[UNIVERSE.length];
+            for (int j = 0; j < mu.length; j++) {
+                mu[j] = random.nextDouble();
+            }
+            result.add(FuzzySet.lazy(UNIVERSE, mu));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class FuzzySetPoolTest {
+
+    private static FuzzySet first() {
+        return new FuzzySet(new double[]{1, 2, 3}, new double[]{0.2, 0.8, 0.5});
+    }
+
+    private static FuzzySet second() {
+        return new FuzzySet(new double[]{1, 2, 3}, new double[]{0.6, 0.1, 0.5});
+    }
+
+    @Test
+    public void testIntern() {
+        FuzzySetPool pool = new FuzzySetPool(0);
+        ImmutableFuzzySet canonical = pool.intern(first());
+        assertSame(canonical, pool.intern(first()));
+        assertSame(canonical, pool.intern(canonical));
+        ImmutableFuzzySet another = pool.intern(second());
+        assertNotSame(canonical, another);
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testInternKeepsEncounterOrder() {
+        FuzzySetPool pool = new FuzzySetPool(0);
+        FuzzySet sorted = first();
+        FuzzySet unsorted = new FuzzySet(new LinkedHashMap<Double, Double>() {{
+            put(3.0, 0.5);
+            put(1.0, 0.2);
+            put(2.0, 0.8);
+        }});
+        ImmutableFuzzySet canonicalSorted = pool.intern(sorted);
+        ImmutableFuzzySet canonicalUnsorted = pool.intern(unsorted);
+        assertNotSame(canonicalSorted, canonicalUnsorted);
+        assertEquals(unsorted, canonicalUnsorted);
+        assertEquals(new ArrayList<>(unsorted.getSet().keySet()), new ArrayList<>(canonicalUnsorted.getSet().keySet()));
+        assertEquals(new ArrayList<>(sorted.getSet().keySet()), new ArrayList<>(canonicalSorted.getSet().keySet()));
+        assertSame(canonicalUnsorted, pool.intern(canonicalUnsorted));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternFuzzyNumber() {
+        new FuzzySetPool(0).intern(new FuzzyNumber(first().getSet()));
+    }
+
+    @Test
+    public void testMemoizedOperations() {
+        FuzzySetPool pool = new FuzzySetPool(16);
+        ImmutableFuzzySet union = pool.getUnion(first(), second(), TConorm.maximum());
+        assertEquals(first().getUnionMax(second()).getSet(), union.getSet());
+        assertSame(union, pool.getUnion(first(), second(), TConorm.maximum()));
+        ImmutableFuzzySet intersection = pool.getIntersection(first(), second(), TNorm.minimum());
+        assertEquals(first().getIntersectionMax(second()).getSet(), intersection.getSet());
+        ImmutableFuzzySet deduction = pool.deduct(first(), second(), TNorm.minimum());
+        assertEquals(first().deductMax(second()).getSet(), deduction.getSet());
+        assertSame(deduction, pool.deduct(first(), second(), TNorm.minimum()));
+    }
+
+    @Test
+    public void testLruEviction() {
+        AtomicInteger calls = new AtomicInteger();
+        BinaryOperator<FuzzySet> operation = (a, b) -> {
+            calls.incrementAndGet();
+            return a.getUnionMax(b);
+        };
+        FuzzySetPool pool = new FuzzySetPool(1);
+        pool.apply(operation, first(), second());
+        pool.apply(operation, first(), second());
+        assertEquals(1, calls.get());
+        pool.apply(operation, second(), first());
+        pool.apply(operation, first(), second());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testHashCodeMatchesEquals() {
+        assertEquals(first(), first());
+        assertEquals(first().hashCode(), first().hashCode());
+        assertEquals(first().hashCode(), first().toImmutable().hashCode());
+    }
+}
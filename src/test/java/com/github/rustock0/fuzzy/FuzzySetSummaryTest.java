@@ -0,0 +1,62 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class FuzzySetSummaryTest {
+
+    private static final FuzzySet FUZZY_SET = new FuzzySet(new LinkedHashMap<Double, Double>() {{
+        put(1.0, 0.7);
+        put(2.0, 0.9);
+        put(3.0, 0.0);
+        put(4.0, 0.6);
+        put(5.0, 0.5);
+        put(6.0, 1.0);
+    }});
+
+    @Test
+    public void testSummary() {
+        FuzzySetSummary summary = FUZZY_SET.getSummary();
+        assertEquals(1.0, summary.getHeight(), 0.0);
+        assertEquals(3.7, summary.getSum(), 1e-9);
+        assertEquals(0.89, summary.getEntropy(), 0.01);
+        assertEquals(Collections.singletonList(6.0), summary.getCore());
+        assertEquals(Collections.singletonList(5.0), summary.getTransitionPoint());
+        assertEquals(Arrays.asList(1.0, 2.0, 4.0, 5.0, 6.0), summary.getSupport());
+        assertEquals(Arrays.asList(1, 1, 0, 1, 0, 1), summary.getNearestClearSet());
+    }
+
+    @Test
+    public void testSummaryIsShared() {
+        assertSame(FUZZY_SET.getSummary(), FUZZY_SET.getSummary());
+        assertSame(FUZZY_SET.getSummary().getSupport(), FUZZY_SET.getSupport());
+    }
+
+    @Test
+    public void testEntropyMatchesDefinition() {
+        int n = 1000;
+        double[] x = new double[n];
+        double[] mu = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            mu[i] = Math.abs(Math.sin(i));
+            sum += mu[i];
+        }
+        double expected = 0;
+        for (double value : mu) {
+            double p = value / sum;
+            if (p != 0.0) {
+                expected += p * Math.log(p) / Math.log(2);
+            }
+        }
+        expected = -expected / (Math.log(6) / Math.log(2));
+        assertEquals(expected, FuzzySet.lazy(x, mu).getEntropy(), 1e-9);
+    }
+}
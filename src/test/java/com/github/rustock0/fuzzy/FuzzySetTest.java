@@ -31,6 +31,33 @@ public class FuzzySetTest {
         put(8.0, 1.0);
     }});
 
+    /**
+     * Returns a new set equal to {@link #FUZZY_SET1} before {@code testNormalize} modifies it.
+     */
+    private static FuzzySet fuzzySet1() {
+        return new FuzzySet(new LinkedHashMap<Double, Double>() {{
+            put(1.0, 0.6);
+            put(2.0, 0.5);
+            put(9.0, 0.3);
+            put(8.0, 0.8);
+            put(4.0, 0.0);
+        }});
+    }
+
+    @Test
+    public void testAdditionFollowsNormalize() throws Exception {
+        FuzzySet fuzzySet = fuzzySet1();
+        Map<Double, Double> addition = fuzzySet.getAddition();
+        fuzzySet.normalize();
+        Assert.assertEquals(0.25, addition.get(1.0), 1e-15);
+        FuzzySet result = fuzzySet.symmetricDeduction1Alg(FUZZY_SET2);
+        Map<Double, Double> expected = new LinkedHashMap<Double, Double>() {{
+            put(1.0, 0.2500000000000001);
+            put(8.0, 0.0);
+        }};
+        Assert.assertEquals(expected, result.set);
+    }
+
     @Test
     public void testGetCore() {
         List<Double> core = FUZZY_SET1.getCore();
@@ -357,7 +384,7 @@ public class FuzzySetTest {
 
     @Test
     public void testSymmetricDeduction1Alg() throws Exception {
-        FuzzySet result = FUZZY_SET1.symmetricDeduction1Alg(FUZZY_SET2);
+        FuzzySet result = fuzzySet1().symmetricDeduction1Alg(FUZZY_SET2);
         Map<Double, Double> expected = new LinkedHashMap<Double, Double>() {{
             put(1.0, 0.4);
             put(8.0, 0.19999999999999996);
@@ -379,8 +406,8 @@ public class FuzzySetTest {
     public void testGetUnionLim() throws Exception {
         FuzzySet result = FUZZY_SET1.getUnionLim(FUZZY_SET2);
         Map<Double, Double> expected = new LinkedHashMap<Double, Double>() {{
-            put(1.0, 0.5);
-            put(8.0, 0.3);
+            put(1.0, 1.0);
+            put(8.0, 1.0);
         }};
         Assert.assertEquals(expected, result.set);
     }
@@ -407,7 +434,7 @@ public class FuzzySetTest {
 
     @Test
     public void testSymmetricDeduction1Lim() throws Exception {
-        FuzzySet result = FUZZY_SET1.symmetricDeduction1Lim(FUZZY_SET2);
+        FuzzySet result = fuzzySet1().symmetricDeduction1Lim(FUZZY_SET2);
         Map<Double, Double> expected = new LinkedHashMap<Double, Double>() {{
             put(1.0, 0.3999999999999999);
             put(8.0, 0.19999999999999996);
@@ -419,7 +446,7 @@ public class FuzzySetTest {
     public void testSymmetricDeduction2Lim() throws Exception {
         FuzzySet result = FUZZY_SET1.symmetricDeduction2Lim(FUZZY_SET2);
         Map<Double, Double> expected = new LinkedHashMap<Double, Double>() {{
-            put(1.0, 0.0);
+            put(1.0, 0.25);
             put(8.0, 0.0);
         }};
         Assert.assertEquals(expected, result.set);
@@ -472,6 +499,29 @@ public class FuzzySetTest {
         Assert.assertEquals(expected, result);
     }
 
+    @Test
+    public void testGetAlphaCutKeys() throws Exception {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{1, 2, 3, 4, 5}, new double[]{0.2, 0.5, 1.0, 0.5, 0.0});
+        Assert.assertArrayEquals(new double[]{3, 2, 4}, fuzzySet.getAlphaCutKeys(0.5), 0);
+        Assert.assertArrayEquals(new double[]{3}, fuzzySet.getStrictAlphaCutKeys(0.5), 0);
+        Assert.assertArrayEquals(new double[]{3, 2, 4, 1, 5}, fuzzySet.getAlphaCutKeys(0), 0);
+        Assert.assertArrayEquals(new double[0], fuzzySet.getStrictAlphaCutKeys(1), 0);
+        Assert.assertEquals(4, fuzzySet.getAlphaCutSize(0.1, false));
+        Assert.assertEquals(1, fuzzySet.getAlphaCutSize(0.5, true));
+    }
+
+    @Test
+    public void testGetLevelSets() throws Exception {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.25, 0.5, 0.5, 0.4});
+        double[][] result = fuzzySet.getLevelSets(0.3, 0.5, 0.6);
+        Assert.assertEquals(3, result.length);
+        Assert.assertArrayEquals(new double[]{2, 3, 4}, result[0], 0);
+        Assert.assertArrayEquals(new double[]{2, 3}, result[1], 0);
+        Assert.assertArrayEquals(new double[0], result[2], 0);
+        fuzzySet.normalize();
+        Assert.assertArrayEquals(new double[]{2, 3, 4}, fuzzySet.getAlphaCutKeys(0.8), 0);
+    }
+
     @Test
     public void testIsDominate() throws Exception {
         assertTrue(FUZZY_SET1.isDominate(FUZZY_SET2));
@@ -516,4 +566,122 @@ public class FuzzySetTest {
     public void testEquals() throws Exception {
         assertTrue(FUZZY_SET1.equals(FUZZY_SET1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testArrayConstructor() throws Exception {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{1.0, 2.0, 9.0, 8.0, 4.0}, new double[]{0.6, 0.5, 0.3, 0.8, 0.0});
+        FuzzySet expected = new FuzzySet(new LinkedHashMap<Double, Double>() {{
+            put(1.0, 0.6);
+            put(2.0, 0.5);
+            put(9.0, 0.3);
+            put(8.0, 0.8);
+            put(4.0, 0.0);
+        }});
+        Assert.assertEquals(expected, fuzzySet);
+        Assert.assertEquals(Arrays.asList(1.0, 2.0, 9.0, 8.0), fuzzySet.getSupport());
+        Assert.assertEquals(new ArrayList<>(expected.getSet().keySet()), new ArrayList<>(fuzzySet.getSet().keySet()));
+        Assert.assertEquals(0.8, fuzzySet.getSet().get(8.0), 0.0);
+        Assert.assertNull(fuzzySet.getSet().get(3.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArrayConstructorDuplicateKey() throws Exception {
+        new FuzzySet(new double[]{2.0, 1.0, 2.0}, new double[]{0.1, 0.2, 0.3});
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetSetIsReadOnly() throws Exception {
+        new FuzzySet(new double[]{1.0}, new double[]{0.5}).getSet().put(2.0, 0.5);
+    }
+
+    @Test
+    public void testLazy() throws Exception {
+        FuzzySet lazySet = FuzzySet.lazy(new LinkedHashMap<Double, Double>() {{
+            put(3.0, 0.5);
+            put(1.0, 1.0);
+            put(5.0, 0.0);
+            put(8.0, 1.0);
+        }});
+        assertTrue(lazySet.toString().contains("core=null"));
+        Assert.assertEquals(FUZZY_SET2, lazySet);
+        Assert.assertEquals(Arrays.asList(1.0, 8.0), lazySet.getCore());
+        Assert.assertEquals(FUZZY_SET2.getSupport(), lazySet.getSupport());
+        assertEquals(0.58, lazySet.getEntropy());
+        assertFalse(lazySet.toString().contains("core=null"));
+    }
+
+    @Test
+    public void testBinaryOperationOnSharedUniverse() throws Exception {
+        double[] universe = {1.0, 2.0, 3.0};
+        FuzzySet a = new FuzzySet(universe, new double[]{0.2, 0.9, 0.4}, null);
+        FuzzySet b = new FuzzySet(universe, new double[]{0.5, 0.1, 0.4}, null);
+        FuzzySet union = a.getUnionMax(b);
+        Assert.assertSame(universe, union.x);
+        Assert.assertArrayEquals(new double[]{0.5, 0.9, 0.4}, union.mu, 0.0);
+        Assert.assertArrayEquals(new double[]{0.2, 0.1, 0.4}, a.getIntersectionMax(b).mu, 0.0);
+    }
+
+    @Test
+    public void testBinaryOperationOnPartlyCommonKeys() throws Exception {
+        FuzzySet a = new FuzzySet(new double[]{5.0, 1.0, 3.0, 7.0}, new double[]{0.5, 0.2, 0.3, 0.7});
+        FuzzySet b = new FuzzySet(new double[]{0.0, 3.0, 4.0, 5.0, 8.0}, new double[]{0.1, 0.6, 0.4, 0.2, 0.8});
+        FuzzySet union = a.getUnionMax(b);
+        Assert.assertArrayEquals(new double[]{3.0, 5.0}, union.x, 0.0);
+        Assert.assertArrayEquals(new double[]{0.6, 0.5}, union.mu, 0.0);
+        FuzzySet intersection = b.getIntersectionAlg(a);
+        Assert.assertArrayEquals(new double[]{3.0, 5.0}, intersection.x, 0.0);
+        Assert.assertArrayEquals(new double[]{0.18, 0.1}, intersection.mu, 1e-12);
+        Assert.assertEquals(0, a.getUnionMax(new FuzzySet(new double[]{2.0}, new double[]{1.0})).size());
+    }
+
+    @Test
+    public void testGetUnionAndIntersectionWithNorms() throws Exception {
+        FuzzySet a = new FuzzySet(new double[]{1.0, 2.0, 3.0}, new double[]{0.2, 0.5, 1.0});
+        FuzzySet b = new FuzzySet(new double[]{1.0, 2.0, 3.0}, new double[]{0.4, 0.5, 0.0});
+        Assert.assertEquals(a.getUnionMax(b), a.getUnion(b, TConorm.maximum()));
+        Assert.assertEquals(a.getIntersectionAlg(b), a.getIntersection(b, TNorm.product()));
+        Assert.assertEquals(a.getIntersectionAlg(b), a.getIntersection(b, TNorm.hamacher(1)));
+        Assert.assertArrayEquals(new double[]{0.6, 1.0, 1.0}, a.getUnion(b, TConorm.yager(1)).mu, 1e-12);
+        Assert.assertEquals(a.deductLim(b), a.deduct(b, TNorm.lukasiewicz()));
+    }
+
+    @Test
+    public void testGetDefuzzificationCOALarge() throws Exception {
+        Random random = new Random(7);
+        double[] x = new double[2000];
+        double[] mu = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = x.length - i;
+            mu[i] = random.nextDouble();
+        }
+        FuzzySet fuzzySet = FuzzySet.lazy(x, mu);
+        double expected = Double.NaN;
+        double minResidual = Double.MAX_VALUE;
+        for (double key : x) {
+            double left = 0;
+            double right = 0;
+            for (int j = 0; j < x.length; j++) {
+                if (x[j] < key) {
+                    left += mu[j];
+                } else {
+                    right += mu[j];
+                }
+            }
+            if (Math.abs(left - right) < minResidual) {
+                minResidual = Math.abs(left - right);
+                expected = key;
+            }
+        }
+        Assert.assertEquals(expected, fuzzySet.getDefuzzificationCOA(), 0.0);
+    }
+
+    @Test
+    public void testGetCumulativeMembership() throws Exception {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{4.0, 1.0, 2.0}, new double[]{0.5, 0.25, 1.0});
+        Assert.assertEquals(0.0, fuzzySet.getCumulativeMembership(0.5), 0.0);
+        Assert.assertEquals(0.25, fuzzySet.getCumulativeMembership(1.0), 0.0);
+        Assert.assertEquals(1.25, fuzzySet.getCumulativeMembership(3.0), 0.0);
+        Assert.assertEquals(1.75, fuzzySet.getCumulativeMembership(4.0), 0.0);
+        Assert.assertEquals(1.75, fuzzySet.getCumulativeMembership(10.0), 0.0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class HedgedFuzzySetTest {
+
+    private static final double[] X = {3, 1, 2};
+    private static final double[] MU = {0.4, 0.9, 0.0};
+
+    @Test
+    public void testHedges() {
+        FuzzySet fuzzySet = new FuzzySet(X, MU);
+        assertEquals(0.16, fuzzySet.very().getMembership(3.0), 1e-12);
+        assertEquals(Math.sqrt(0.4), fuzzySet.somewhat().getMembership(3.0), 0.0);
+        assertEquals(0.1, fuzzySet.not().getMembership(1.0), 1e-12);
+        assertEquals(Math.pow(0.9, 3), fuzzySet.power(3).getMembership(1.0), 1e-12);
+        assertEquals(fuzzySet.getConcentration(), fuzzySet.very().getSet());
+        assertEquals(fuzzySet.getStretching(), fuzzySet.somewhat().getSet());
+        assertEquals(fuzzySet.getAddition(), fuzzySet.not().getSet());
+        assertSame(fuzzySet, fuzzySet.very().getSource());
+    }
+
+    @Test
+    public void testComposition() {
+        FuzzySet fuzzySet = new FuzzySet(X, MU);
+        HedgedFuzzySet veryNot = fuzzySet.not().very();
+        assertEquals(0.36, veryNot.getMembership(3.0), 1e-12);
+        assertEquals(1.0 - 0.16, fuzzySet.very().not().getMembership(3.0), 1e-12);
+        assertEquals(0.4, fuzzySet.not().not().getMembership(3.0), 1e-12);
+        assertEquals(0.81, fuzzySet.somewhat().power(4).getMembership(1.0), 1e-12);
+    }
+
+    @Test
+    public void testViewFollowsSource() {
+        FuzzySet fuzzySet = FuzzySet.lazy(new double[]{1, 2}, new double[]{0.25, 0.5});
+        HedgedFuzzySet very = fuzzySet.very();
+        Map<Double, Double> addition = fuzzySet.getAddition();
+        fuzzySet.normalize();
+        assertEquals(0.25, very.getMembership(1.0), 0.0);
+        assertEquals(0.5, addition.get(1.0), 0.0);
+    }
+
+    @Test
+    public void testToFuzzySet() {
+        FuzzySet fuzzySet = new FuzzySet(X, MU);
+        FuzzySet result = fuzzySet.not().very().toFuzzySet();
+        assertEquals(Arrays.asList(3.0, 1.0, 2.0), Arrays.asList(result.getSet().keySet().toArray()));
+        assertArrayEquals(new double[]{0.01, 1.0, 0.36}, result.mu, 1e-12);
+        assertEquals(new LinkedHashMap<>(result.getSet()), fuzzySet.not().very().getSet());
+        assertEquals(fuzzySet.deductAlg(fuzzySet), fuzzySet.getIntersectionAlg(fuzzySet.not().toFuzzySet()));
+        FuzzySet complement = fuzzySet.not().toFuzzySet();
+        assertEquals(Arrays.asList(3.0, 1.0, 2.0), Arrays.asList(complement.getSet().keySet().toArray()));
+        assertArrayEquals(new double[]{0.1, 1.0, 0.6}, complement.mu, 1e-12);
+    }
+
+    @Test
+    public void testBulkHedges() {
+        FuzzySet fuzzySet = new FuzzySet(X, MU);
+        HedgedFuzzySet[] hedges = {fuzzySet.very(), fuzzySet.somewhat(), fuzzySet.somewhat().not().very(), fuzzySet.power(3).somewhat()};
+        for (HedgedFuzzySet hedge : hedges) {
+            FuzzySet result = hedge.toFuzzySet();
+            for (double key : X) {
+                assertEquals(hedge.getMembership(key), result.getSet().get(key), 1e-15);
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testViewIsReadOnly() {
+        new FuzzySet(X, MU).very().getSet().put(5.0, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidExponent() {
+        new FuzzySet(X, MU).power(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingKey() {
+        new FuzzySet(X, MU).very().getMembership(5.0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ImmutableFuzzySetTest {
+
+    private static final LinkedHashMap<Double, Double> POINTS = new LinkedHashMap<Double, Double>() {{
+        put(1.0, 0.6);
+        put(2.0, 0.5);
+        put(9.0, 0.3);
+        put(8.0, 0.8);
+        put(4.0, 0.0);
+    }};
+
+    @Test
+    public void testEqualsSource() {
+        FuzzySet source = new FuzzySet(POINTS);
+        ImmutableFuzzySet result = source.toImmutable();
+        assertEquals(source, result);
+        assertEquals(result, source);
+        assertEquals(source.hashCode(), result.hashCode());
+        assertNotEquals(new FuzzyNumber(POINTS), result);
+        assertNotEquals(result, new FuzzyNumber(POINTS));
+    }
+
+    @Test
+    public void testSameProperties() {
+        FuzzySet expected = new FuzzySet(POINTS);
+        ImmutableFuzzySet result = new ImmutableFuzzySet(POINTS);
+        assertEquals(expected.getCore(), result.getCore());
+        assertEquals(expected.getTransitionPoint(), result.getTransitionPoint());
+        assertEquals(expected.getSupport(), result.getSupport());
+        assertEquals(expected.getNearestClearSet(), result.getNearestClearSet());
+        assertEquals(expected.getHeight(), result.getHeight(), 0.0);
+        assertEquals(expected.getEntropy(), result.getEntropy(), 0.0);
+        assertEquals(expected.isConvex(), result.isConvex());
+        assertEquals(expected.isConcave(), result.isConcave());
+        assertEquals(expected.getAddition(), result.getAddition());
+        assertEquals(expected.getConcentration(), result.getConcentration());
+        assertEquals(expected.getStretching(), result.getStretching());
+        assertEquals(expected.getDefuzzificationCOA(), result.getDefuzzificationCOA(), 0.0);
+        assertEquals(expected.getSet(), result.getSet());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSupportIsReadOnly() {
+        new ImmutableFuzzySet(POINTS).getSupport().add(3.0);
+    }
+
+    @Test
+    public void testSummaryIsReadOnly() {
+        ImmutableFuzzySet fuzzySet = new ImmutableFuzzySet(POINTS);
+        List<Double> core = new ArrayList<>(fuzzySet.getCore());
+        try {
+            fuzzySet.getSummary().getCore().clear();
+            fail("Core of the summary was modified");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(core, fuzzySet.getCore());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAdditionIsReadOnly() {
+        new ImmutableFuzzySet(POINTS).getAddition().put(3.0, 1.0);
+    }
+
+    @Test
+    public void testNormalizeReturnsCopy() {
+        ImmutableFuzzySet fuzzySet = new ImmutableFuzzySet(new double[]{1, 2}, new double[]{0.25, 0.5});
+        ImmutableFuzzySet normalized = fuzzySet.normalize();
+        assertNotSame(fuzzySet, normalized);
+        assertArrayEquals(new double[]{0.25, 0.5}, fuzzySet.mu, 0.0);
+        assertArrayEquals(new double[]{0.5, 1.0}, normalized.mu, 0.0);
+        assertSame(normalized, normalized.normalize());
+    }
+
+    @Test
+    public void testToImmutableCopiesMemberships() {
+        FuzzySet fuzzySet = new FuzzySet(new double[]{1, 2}, new double[]{0.25, 0.5});
+        ImmutableFuzzySet immutable = fuzzySet.toImmutable();
+        fuzzySet.normalize();
+        assertEquals(0.5, immutable.getHeight(), 0.0);
+        assertSame(immutable, immutable.toImmutable());
+    }
+
+    @Test
+    public void testConcurrentReaders() throws Exception {
+        int n = 10_000;
+        double[] x = new double[n];
+        double[] mu = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+            mu[i] = (i % 100) / 100.0;
+        }
+        FuzzySet expected = new FuzzySet(x, mu);
+        ImmutableFuzzySet shared = new ImmutableFuzzySet(x, mu);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Double>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit((Callable<Double>) () ->
+                    shared.getEntropy() + shared.getSupport().size() + shared.getDefuzzificationCOA()));
+            }
+            double value = expected.getEntropy() + expected.getSupport().size() + expected.getDefuzzificationCOA();
+            for (Future<Double> result : results) {
+                assertEquals(value, result.get(), 0.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class InPlaceOperationsTest {
+
+    private static final Universe UNIVERSE = Universe.of(1, 2, 3, 4);
+
+    @Test
+    public void testAggregation() {
+        FuzzySet[] rules = {
+            UNIVERSE.fuzzySet(0.1, 0.5, 0.2, 0.0),
+            UNIVERSE.fuzzySet(0.3, 0.4, 0.0, 0.6),
+            UNIVERSE.fuzzySet(0.0, 0.9, 0.1, 0.2)
+        };
+        FuzzySet expected = rules[0].getUnionMax(rules[1]).getUnionMax(rules[2]);
+        FuzzySet aggregate = UNIVERSE.lazyFuzzySet(new double[UNIVERSE.size()]);
+        for (int round = 0; round < 2; round++) {
+            aggregate.fill(0.0);
+            for (FuzzySet rule : rules) {
+                assertSame(aggregate, aggregate.unionMaxInPlace(rule));
+            }
+            assertEquals(expected, aggregate);
+            assertEquals(expected.hashCode(), aggregate.hashCode());
+        }
+        assertTrue(UNIVERSE.contains(aggregate));
+    }
+
+    @Test
+    public void testCachesAreInvalidated() {
+        FuzzySet fuzzySet = UNIVERSE.fuzzySet(0.5, 1.0, 0.5, 0.0);
+        assertEquals(Collections.singletonList(2.0), fuzzySet.getCore());
+        assertEquals(1.0, fuzzySet.getHeight(), 0.0);
+        assertFalse(fuzzySet.isConcave());
+        int hash = fuzzySet.hashCode();
+        assertArrayEquals(new double[]{2.0}, fuzzySet.getAlphaCutKeys(0.9), 0.0);
+        assertEquals(new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.5, 1.0, 0.5, 0.0}).getDefuzzificationCOA(),
+            fuzzySet.getDefuzzificationCOA(), 0.0);
+
+        fuzzySet.intersectAlgInPlace(UNIVERSE.fuzzySet(0.5, 0.5, 1.0, 1.0));
+        assertArrayEquals(new double[]{0.25, 0.5, 0.5, 0.0}, fuzzySet.mu, 0.0);
+        assertEquals(Collections.emptyList(), fuzzySet.getCore());
+        assertEquals(0.5, fuzzySet.getHeight(), 0.0);
+        assertEquals(Arrays.asList(2.0, 3.0), fuzzySet.getTransitionPoint());
+        assertTrue(hash != fuzzySet.hashCode());
+        assertArrayEquals(new double[0], fuzzySet.getAlphaCutKeys(0.9), 0.0);
+        assertEquals(new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.25, 0.5, 0.5, 0.0}).getDefuzzificationCOA(),
+            fuzzySet.getDefuzzificationCOA(), 0.0);
+
+        fuzzySet.normalize();
+        assertEquals(Arrays.asList(2.0, 3.0), fuzzySet.getCore());
+        assertEquals(Collections.singletonList(1.0), fuzzySet.getTransitionPoint());
+    }
+
+    @Test
+    public void testDestination() {
+        FuzzySet first = new FuzzySet(new double[]{1, 2, 3}, new double[]{0.2, 0.6, 0.9});
+        FuzzySet second = new FuzzySet(new double[]{2, 3, 5}, new double[]{0.5, 0.3, 1.0});
+        FuzzySet destination = FuzzySet.lazy(new double[]{2, 3}, new double[2]);
+        assertSame(destination, first.unionMaxInto(second, destination));
+        assertEquals(first.getUnionMax(second), destination);
+        first.intersectionInto(second, TNorm.lukasiewicz(), destination);
+        assertEquals(first.getIntersectionLim(second), destination);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDestinationWithOtherKeys() {
+        FuzzySet first = new FuzzySet(new double[]{1, 2, 3}, new double[]{0.2, 0.6, 0.9});
+        FuzzySet second = new FuzzySet(new double[]{2, 3, 5}, new double[]{0.5, 0.3, 1.0});
+        first.unionMaxInPlace(second);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableDestination() {
+        FuzzySet fuzzySet = UNIVERSE.fuzzySet(0.5, 1.0, 0.5, 0.0);
+        fuzzySet.toImmutable().unionMaxInPlace(fuzzySet);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalFuzzySetTest {
+
+    @Test
+    public void testPutAndRemove() {
+        IncrementalFuzzySet fuzzySet = new IncrementalFuzzySet();
+        fuzzySet.put(1.0, 0.2);
+        fuzzySet.put(2.0, 1.0);
+        fuzzySet.put(3.0, 0.4);
+        assertEquals(3, fuzzySet.size());
+        assertEquals(1.0, fuzzySet.getHeight(), 0.0);
+        assertEquals(1.6, fuzzySet.getCardinality(), 1e-15);
+        assertEquals(1, fuzzySet.getCoreSize());
+        assertEquals(3, fuzzySet.getSupportSize());
+        assertTrue(fuzzySet.isConvex());
+        assertFalse(fuzzySet.isConcave());
+
+        fuzzySet.put(2.0, 0.0);
+        assertEquals(0.4, fuzzySet.getHeight(), 0.0);
+        assertEquals(0, fuzzySet.getCoreSize());
+        assertEquals(2, fuzzySet.getSupportSize());
+        assertFalse(fuzzySet.isConvex());
+        assertTrue(fuzzySet.isConcave());
+
+        assertTrue(fuzzySet.remove(2.0));
+        assertFalse(fuzzySet.remove(2.0));
+        assertFalse(fuzzySet.contains(2.0));
+        assertTrue(fuzzySet.isConvex());
+        assertEquals(0.6, fuzzySet.getCardinality(), 1e-15);
+        assertEquals(0.4, fuzzySet.getMembership(3.0), 0.0);
+    }
+
+    @Test
+    public void testMatchesSnapshots() {
+        Random random = new Random(7);
+        IncrementalFuzzySet fuzzySet = new IncrementalFuzzySet();
+        for (int step = 0; step < 5000; step++) {
+            double key = random.nextInt(40);
+            if (random.nextInt(4) == 0) {
+                fuzzySet.remove(key);
+            } else {
+                double value = random.nextInt(5) == 0 ? 1.0 : random.nextInt(11) / 10.0;
+                fuzzySet.put(key, value);
+            }
+            if (fuzzySet.size() == 0 || step % 10 != 0) {
+                continue;
+            }
+            FuzzySet expected = fuzzySet.toFuzzySet();
+            assertEquals(expected.getHeight(), fuzzySet.getHeight(), 0.0);
+            assertEquals(expected.getCore().size(), fuzzySet.getCoreSize());
+            assertEquals(expected.getSupport().size(), fuzzySet.getSupportSize());
+            assertEquals(expected.isConvex(), fuzzySet.isConvex());
+            assertEquals(expected.isConcave(), fuzzySet.isConcave());
+            assertEquals(expected.getSummary().getSum(), fuzzySet.getCardinality(), 1e-12);
+            if (fuzzySet.getCardinality() > 0) {
+                assertEquals(expected.getEntropy(), fuzzySet.getEntropy(), 1e-9);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMembership() {
+        new IncrementalFuzzySet().put(1.0, 1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingKey() {
+        new IncrementalFuzzySet().getMembership(1.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the kernels selected for the current runtime agree with the scalar loops.
+ */
+public class KernelsTest {
+
+    private static final int SIZE = 1027;
+    private static final Kernels KERNELS = Kernels.get();
+    private static final Kernels SCALAR = new ScalarKernels();
+
+    private final double[] a = random(1);
+    private final double[] b = random(2);
+
+    @Test
+    public void testBinaryKernels() {
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+
+        SCALAR.max(a, b, expected);
+        KERNELS.max(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        SCALAR.min(a, b, expected);
+        KERNELS.min(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        SCALAR.product(a, b, expected);
+        KERNELS.product(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        SCALAR.probabilisticSum(a, b, expected);
+        KERNELS.probabilisticSum(a, b, actual);
+        assertArrayEquals(expected, actual, 1e-15);
+
+        SCALAR.boundedSum(a, b, expected);
+        KERNELS.boundedSum(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        SCALAR.boundedDifference(a, b, expected);
+        KERNELS.boundedDifference(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+
+        SCALAR.symmetricDifference(a, b, expected);
+        KERNELS.symmetricDifference(a, b, actual);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    public void testComplement() {
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+        SCALAR.complement(a, expected);
+        KERNELS.complement(a, actual);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    public void testHedges() {
+        double[] expected = new double[SIZE];
+        double[] actual = new double[SIZE];
+        SCALAR.square(a, expected);
+        KERNELS.square(a, actual);
+        assertArrayEquals(expected, actual, 0.0);
+        SCALAR.sqrt(a, expected);
+        KERNELS.sqrt(a, actual);
+        assertArrayEquals(expected, actual, 0.0);
+    }
+
+    @Test
+    public void testDistances() {
+        assertEquals(SCALAR.absDifferenceSum(a, b, SIZE), KERNELS.absDifferenceSum(a, b, SIZE), 1e-9);
+        assertEquals(SCALAR.squaredDifferenceSum(a, b, SIZE), KERNELS.squaredDifferenceSum(a, b, SIZE), 1e-9);
+        assertEquals(SCALAR.absDifferenceSum(a, b, 5), KERNELS.absDifferenceSum(a, b, 5), 1e-12);
+        assertEquals(0.0, KERNELS.squaredDifferenceSum(a, b, 0), 0.0);
+    }
+
+    private static double[] random(long seed) {
+        Random random = new Random(seed);
+        double[] result = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            result[i] = random.nextDouble();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MembershipFunctionTest {
+
+    @Test
+    public void testTriangle() {
+        MembershipFunction function = MembershipFunction.triangle(1, 3, 7);
+        assertEquals(0.0, function.apply(1), 0.0);
+        assertEquals(0.5, function.apply(2), 1e-12);
+        assertEquals(1.0, function.apply(3), 0.0);
+        assertEquals(0.25, function.apply(6), 1e-12);
+        assertEquals(0.0, function.apply(8), 0.0);
+        assertEquals(3.0, function.getCoreLeft(), 0.0);
+        assertEquals(3.0, function.getCoreRight(), 0.0);
+        assertEquals(3.0, function.getArea(), 1e-12);
+        assertEquals(11.0 / 3, function.getCentroid(), 1e-12);
+    }
+
+    @Test
+    public void testShoulderTriangle() {
+        MembershipFunction function = MembershipFunction.triangle(0, 0, 2);
+        assertEquals(1.0, function.apply(0), 0.0);
+        assertEquals(0.5, function.apply(1), 1e-12);
+        assertEquals(2.0 / 3, function.getCentroid(), 1e-12);
+    }
+
+    @Test
+    public void testTrapezoid() {
+        MembershipFunction function = MembershipFunction.trapezoid(0, 1, 3, 4);
+        assertEquals(0.5, function.apply(0.5), 1e-12);
+        assertEquals(1.0, function.apply(2), 0.0);
+        assertEquals(0.5, function.apply(3.5), 1e-12);
+        assertEquals(0.0, function.getSupportLeft(), 0.0);
+        assertEquals(4.0, function.getSupportRight(), 0.0);
+        assertEquals(3.0, function.getArea(), 1e-12);
+        assertEquals(2.0, function.getCentroid(), 1e-12);
+    }
+
+    @Test
+    public void testGaussian() {
+        MembershipFunction function = MembershipFunction.gaussian(5, 2);
+        assertEquals(1.0, function.apply(5), 0.0);
+        assertEquals(Math.exp(-0.5), function.apply(7), 1e-12);
+        assertEquals(Double.NEGATIVE_INFINITY, function.getSupportLeft(), 0.0);
+        assertEquals(5.0, function.getCentroid(), 0.0);
+        assertEquals(2 * Math.sqrt(2 * Math.PI), function.getArea(), 1e-12);
+    }
+
+    @Test
+    public void testSigmoid() {
+        MembershipFunction function = MembershipFunction.sigmoid(2, 1);
+        assertEquals(0.5, function.apply(1), 0.0);
+        assertTrue(function.apply(2) > 0.5);
+        assertTrue(MembershipFunction.sigmoid(-2, 1).apply(2) < 0.5);
+        assertTrue(Double.isNaN(function.getCoreLeft()));
+        assertTrue(Double.isNaN(function.getCentroid()));
+    }
+
+    @Test
+    public void testDiscretize() {
+        FuzzySet fuzzySet = MembershipFunction.triangle(0, 2, 4).discretize(5);
+        assertArrayEquals(new double[]{0, 1, 2, 3, 4}, fuzzySet.x, 0.0);
+        assertArrayEquals(new double[]{0, 0.5, 1, 0.5, 0}, fuzzySet.mu, 1e-12);
+        assertEquals(2.0, fuzzySet.getDefuzzificationCOG(), 1e-12);
+        assertEquals(1.0, fuzzySet.getHeight(), 0.0);
+    }
+
+    @Test
+    public void testDiscretizeCentroidConverges() {
+        MembershipFunction function = MembershipFunction.trapezoid(0, 1, 2, 6);
+        FuzzySet fuzzySet = function.discretize(100_001);
+        assertEquals(function.getCentroid(), fuzzySet.getDefuzzificationCOG(), 1e-6);
+        FuzzySet gaussian = MembershipFunction.gaussian(3, 1).discretize(-7, 13, 20_001);
+        assertEquals(3.0, gaussian.getDefuzzificationCOG(), 1e-9);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDiscretizeUnbounded() {
+        MembershipFunction.gaussian(0, 1).discretize(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTriangle() {
+        MembershipFunction.triangle(3, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidGaussian() {
+        MembershipFunction.gaussian(0, 0);
+    }
+
+    @Test
+    public void testAlphaCut() {
+        assertArrayEquals(new double[]{1.5, 6}, MembershipFunction.triangle(1, 3, 7).getAlphaCut(0.25), 1e-12);
+        assertArrayEquals(new double[]{3, 3}, MembershipFunction.triangle(1, 3, 7).getAlphaCut(1), 0.0);
+        double[] gaussian = MembershipFunction.gaussian(2, 0.5).getAlphaCut(0.5);
+        assertEquals(0.5, MembershipFunction.gaussian(2, 0.5).apply(gaussian[0]), 1e-12);
+        assertEquals(4.0, gaussian[0] + gaussian[1], 1e-12);
+        double[] sigmoid = MembershipFunction.sigmoid(3, 1).getAlphaCut(0.8);
+        assertEquals(0.8, MembershipFunction.sigmoid(3, 1).apply(sigmoid[0]), 1e-12);
+        assertEquals(Double.POSITIVE_INFINITY, sigmoid[1], 0.0);
+        assertEquals(0, MembershipFunction.sigmoid(3, 1).getAlphaCut(1).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAlpha() {
+        MembershipFunction.gaussian(0, 1).getAlphaCut(0);
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OffHeapFuzzySetTest {
+
+    private static FuzzySet random(int size, int step, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[size];
+        double[] mu = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = i * step;
+            mu[i] = random.nextInt(101) / 100.0;
+        }
+        return new FuzzySet(x, mu);
+    }
+
+    @Test
+    public void testSameProperties() {
+        FuzzySet expected = random(10_000, 1, 1);
+        try (OffHeapFuzzySet result = OffHeapFuzzySet.of(expected)) {
+            assertEquals(expected.size(), result.size());
+            assertEquals(expected.getHeight(), result.getHeight(), 0.0);
+            assertEquals(expected.getSummary().getSum(), result.getCardinality(), 1e-9);
+            assertEquals(expected.getEntropy(), result.getEntropy(), 1e-12);
+            assertEquals(expected.getAlphaCut(0.5).size(), result.getAlphaCutSize(0.5, false));
+            assertEquals(expected.getStrictAlphaCut(0.5).size(), result.getAlphaCutSize(0.5, true));
+            assertEquals(expected.getDefuzzificationCOG(), result.getDefuzzificationCOG(), 1e-9);
+            assertEquals(expected.getDefuzzificationCOA(), result.getDefuzzificationCOA(), 0.0);
+            assertEquals(expected.getDefuzzificationLOM(), result.getDefuzzificationLOM(), 0.0);
+            assertEquals(expected.getDefuzzificationROM(), result.getDefuzzificationROM(), 0.0);
+            assertEquals(expected.getDefuzzificationMOM(), result.getDefuzzificationMOM(), 0.0);
+            assertEquals(17, result.indexOf(17.0));
+            assertEquals(-2, result.indexOf(0.5));
+            assertEquals(expected, result.toFuzzySet());
+        }
+    }
+
+    @Test
+    public void testDistances() {
+        FuzzySet first = random(9_000, 1, 2);
+        FuzzySet second = random(10_000, 1, 3);
+        try (OffHeapFuzzySet a = OffHeapFuzzySet.of(first); OffHeapFuzzySet b = OffHeapFuzzySet.of(second)) {
+            assertEquals(first.getHammingDistance(second), a.getHammingDistance(b), 1e-9);
+            assertEquals(first.getEuclideanDistance(second), a.getEuclideanDistance(b), 1e-9);
+            assertEquals(second.getHammingDistance(first), b.getHammingDistance(a), 1e-9);
+        }
+    }
+
+    @Test
+    public void testUnionAndIntersection() {
+        FuzzySet first = random(10_000, 2, 4);
+        FuzzySet second = random(10_000, 3, 5);
+        try (OffHeapFuzzySet a = OffHeapFuzzySet.of(first); OffHeapFuzzySet b = OffHeapFuzzySet.of(second);
+             OffHeapFuzzySet union = a.getUnion(b, TConorm.probabilisticSum());
+             OffHeapFuzzySet intersection = a.getIntersection(b, TNorm.minimum());
+             OffHeapFuzzySet addition = a.getAddition()) {
+            assertEquals(first.getUnion(second, TConorm.probabilisticSum()), union.toFuzzySet());
+            assertEquals(first.getIntersectionMax(second), intersection.toFuzzySet());
+            FuzzySet expected = FuzzySet.lazy(first.getAddition());
+            assertArrayEquals(expected.mu, addition.toFuzzySet().mu, 1e-15);
+        }
+    }
+
+    @Test
+    public void testKeyLists() {
+        FuzzySet expected = random(10_000, 1, 6);
+        try (OffHeapFuzzySet result = OffHeapFuzzySet.of(expected);
+             OffHeapFuzzySet nearestClearSet = result.getNearestClearSet()) {
+            DoubleBuffer keys = DoubleBuffer.allocate(expected.size());
+            assertEquals(expected.getCore().size(), result.getCore(null));
+            result.getCore(keys);
+            assertKeys(expected.getCore(), keys);
+            result.getSupport(keys);
+            assertKeys(expected.getSupport(), keys);
+            result.getTransitionPoint(keys);
+            assertKeys(expected.getTransitionPoint(), keys);
+            assertEquals(expected.getAlphaCut(0.3).size(), result.getAlphaCut(0.3, false, keys));
+            assertKeys(expected.getAlphaCut(0.3), keys);
+            result.getAlphaCut(0.3, true, keys);
+            assertKeys(expected.getStrictAlphaCut(0.3), keys);
+            DoubleBuffer[] levels = {DoubleBuffer.allocate(expected.size()), DoubleBuffer.allocate(expected.size())};
+            int[] sizes = result.getLevelSets(levels, 0.2, 0.7);
+            assertEquals(expected.getAlphaCut(0.2).size(), sizes[0]);
+            assertKeys(expected.getAlphaCut(0.7), levels[1]);
+            double[] clear = nearestClearSet.toFuzzySet().mu;
+            for (int i = 0; i < clear.length; i++) {
+                assertEquals(expected.getNearestClearSet().get(i), clear[i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testShapeAndDominance() {
+        FuzzySet triangle = new FuzzySet(new double[]{0, 1, 2, 3, 4}, new double[]{0.0, 0.5, 1.0, 0.5, 0.0});
+        FuzzySet wider = new FuzzySet(new double[]{0, 1, 2, 3, 4}, new double[]{0.1, 0.6, 1.0, 0.6, 0.1});
+        FuzzySet random = random(1_000, 1, 7);
+        try (OffHeapFuzzySet a = OffHeapFuzzySet.of(triangle); OffHeapFuzzySet b = OffHeapFuzzySet.of(wider);
+             OffHeapFuzzySet c = OffHeapFuzzySet.of(random)) {
+            assertEquals(triangle.isConvex(), a.isConvex());
+            assertEquals(triangle.isConcave(), a.isConcave());
+            assertEquals(random.isConvex(), c.isConvex());
+            assertEquals(random.isConcave(), c.isConcave());
+            assertEquals(triangle.isDominate(wider), a.isDominate(b));
+            assertEquals(wider.isDominate(triangle), b.isDominate(a));
+            assertEquals(triangle.isDominate(random), a.isDominate(c));
+        }
+    }
+
+    @Test
+    public void testDeductionsAndHedges() {
+        FuzzySet first = random(10_000, 2, 8);
+        FuzzySet second = random(10_000, 3, 9);
+        try (OffHeapFuzzySet a = OffHeapFuzzySet.of(first); OffHeapFuzzySet b = OffHeapFuzzySet.of(second)) {
+            assertSame(first.deduct(second, TNorm.hamacher(0.5)), a.deduct(b, TNorm.hamacher(0.5)));
+            assertSame(first.deductMax(second), a.deductMax(b));
+            assertSame(first.deductAlg(second), a.deductAlg(b));
+            assertSame(first.deductLim(second), a.deductLim(b));
+            assertSame(first.getUnionMax(second), a.getUnionMax(b));
+            assertSame(first.getIntersectionAlg(second), a.getIntersectionAlg(b));
+            assertSame(first.getUnionLim(second), a.getUnionLim(b));
+            assertSame(first.getIntersectionLim(second), a.getIntersectionLim(b));
+            assertSame(first.symmetricDeduction1Alg(second), a.symmetricDeduction1Alg(b));
+            assertSame(first.symmetricDeduction2Alg(second), a.symmetricDeduction2Alg(b));
+            assertSame(first.symmetricDeduction1Lim(second), a.symmetricDeduction1Lim(b));
+            assertSame(first.symmetricDeduction2Lim(second), a.symmetricDeduction2Lim(b));
+            assertSame(first.very().toFuzzySet(), a.very());
+            assertSame(first.somewhat().toFuzzySet(), a.somewhat());
+            assertSame(first.not().toFuzzySet(), a.not());
+            assertSame(first.power(3).toFuzzySet(), a.power(3));
+        }
+    }
+
+    private static void assertKeys(List<Double> expected, DoubleBuffer actual) {
+        ((Buffer) actual).flip();
+        double[] keys = new double[actual.remaining()];
+        actual.get(keys);
+        ((Buffer) actual).clear();
+        assertArrayEquals(expected.stream().mapToDouble(Double::doubleValue).toArray(), keys, 0.0);
+    }
+
+    private static void assertSame(FuzzySet expected, OffHeapFuzzySet actual) {
+        try (OffHeapFuzzySet result = actual) {
+            FuzzySet copy = result.toFuzzySet();
+            assertArrayEquals(expected.x, copy.x, 0.0);
+            assertArrayEquals(expected.mu, copy.mu, 1e-12);
+        }
+    }
+
+    @Test
+    public void testNormalize() {
+        try (OffHeapFuzzySet fuzzySet = OffHeapFuzzySet.builder(2).add(1, 0.25).add(2, 0.5).build();
+             OffHeapFuzzySet normalized = fuzzySet.normalize()) {
+            assertEquals(0.5, fuzzySet.getMembership(1), 0.0);
+            assertEquals(0.5, normalized.getMembership(0), 0.0);
+            assertEquals(1.0, normalized.getMembership(1), 0.0);
+        }
+    }
+
+    @Test
+    public void testBuilderTrimsCapacity() {
+        try (OffHeapFuzzySet fuzzySet = OffHeapFuzzySet.builder(10).add(1, 0.3).add(4, 0.7).build()) {
+            assertEquals(2, fuzzySet.size());
+            assertEquals(4.0, fuzzySet.getKey(1), 0.0);
+            assertEquals(0.7, fuzzySet.getMembership(1), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuilderRejectsUnsortedKeys() {
+        OffHeapFuzzySet.builder(2).add(2, 0.3).add(1, 0.7);
+    }
+
+    @Test
+    public void testClose() {
+        OffHeapFuzzySet fuzzySet = OffHeapFuzzySet.builder(1).add(1, 0.3).build();
+        assertFalse(fuzzySet.isClosed());
+        fuzzySet.close();
+        fuzzySet.close();
+        assertTrue(fuzzySet.isClosed());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedSetIsNotReadable() {
+        OffHeapFuzzySet fuzzySet = OffHeapFuzzySet.builder(1).add(1, 0.3).build();
+        fuzzySet.close();
+        fuzzySet.getHeight();
+    }
+}
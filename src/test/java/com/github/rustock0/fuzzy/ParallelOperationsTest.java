@@ -0,0 +1,91 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelOperationsTest {
+
+    private static final int SIZE = 100_000;
+
+    private static ForkJoinPool pool;
+    private static FuzzySet first;
+    private static FuzzySet second;
+
+    @BeforeClass
+    public static void setUp() {
+        pool = new ForkJoinPool(4);
+        Random random = new Random(42);
+        double[] x = new double[SIZE];
+        double[] a = new double[SIZE];
+        double[] b = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = i * 0.5;
+            a[i] = random.nextDouble();
+            b[i] = random.nextDouble();
+        }
+        first = FuzzySet.lazy(x, a);
+        second = new FuzzySet(x, b, null);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMatchesSequential() {
+        ParallelOperations operations = new ParallelOperations(pool, 1000);
+        assertEquals(first.getUnionMax(second), operations.getUnion(first, second, TConorm.maximum()));
+        assertEquals(first.getIntersectionAlg(second), operations.getIntersection(first, second, TNorm.product()));
+        assertEquals(first.getUnion(second, TConorm.hamacher(0.5)),
+            operations.getUnion(first, second, TConorm.hamacher(0.5)));
+        assertEquals(first.getHammingDistance(second), operations.getHammingDistance(first, second), 1e-6);
+        assertEquals(first.getEuclideanDistance(second), operations.getEuclideanDistance(first, second), 1e-9);
+        assertEquals(first.getDefuzzificationCOG(), operations.getDefuzzificationCOG(first), 1e-9);
+        assertEquals(first.getEntropy(), operations.getEntropy(first), 1e-12);
+    }
+
+    @Test
+    public void testDifferentSizes() {
+        FuzzySet shorter = new FuzzySet(new double[]{0.0, 0.5, 1.0}, new double[]{0.1, 0.2, 0.3});
+        ParallelOperations operations = new ParallelOperations(pool, 1000);
+        assertEquals(first.getHammingDistance(shorter), operations.getHammingDistance(shorter, first), 1e-6);
+        assertEquals(first.getEuclideanDistance(shorter), operations.getEuclideanDistance(first, shorter), 1e-9);
+        assertEquals(first.getIntersectionMax(shorter), operations.getIntersection(first, shorter, TNorm.minimum()));
+    }
+
+    @Test
+    public void testDeterministic() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            ParallelOperations parallel = new ParallelOperations(pool, 777);
+            ParallelOperations sequential = new ParallelOperations(single, 777);
+            assertEquals(sequential.getHammingDistance(first, second), parallel.getHammingDistance(first, second), 0.0);
+            assertEquals(sequential.getDefuzzificationCOG(first), parallel.getDefuzzificationCOG(first), 0.0);
+            assertEquals(sequential.getEntropy(second), parallel.getEntropy(second), 0.0);
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        FuzzySet small = new FuzzySet(new double[]{3, 1, 2}, new double[]{0.5, 1.0, 0.25});
+        ParallelOperations operations = ParallelOperations.common();
+        assertEquals(small.getDefuzzificationCOG(), operations.getDefuzzificationCOG(small), 1e-12);
+        assertEquals(small.getEntropy(), operations.getEntropy(small), 1e-12);
+        assertEquals(small.getHammingDistance(small.getUnionAlg(small)),
+            operations.getHammingDistance(small, small.getUnionAlg(small)), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        new ParallelOperations(pool, 0);
+    }
+}
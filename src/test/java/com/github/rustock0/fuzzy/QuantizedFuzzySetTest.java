@@ -0,0 +1,136 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuantizedFuzzySetTest {
+
+    private static final FuzzySet FIRST = new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.0, 0.3, 0.7, 1.0});
+    private static final FuzzySet SECOND = new FuzzySet(new double[]{2, 3, 4, 5}, new double[]{0.6, 0.5, 0.2, 1.0});
+
+    @Test
+    public void testRounding() {
+        QuantizedFuzzySet.Precision precision = QuantizedFuzzySet.Precision.BYTE;
+        assertEquals(0, precision.quantize(0.0));
+        assertEquals(255, precision.quantize(1.0));
+        assertEquals(1, precision.quantize(0.5 / 255));
+        assertEquals(0, precision.quantize(0.49 / 255));
+        assertEquals(128, precision.quantize(0.5));
+        assertEquals(32768, QuantizedFuzzySet.Precision.SHORT.quantize(0.5));
+    }
+
+    @Test
+    public void testSharedUniverse() {
+        Universe universe = Universe.of(1, 2, 3, 4);
+        QuantizedFuzzySet first = QuantizedFuzzySet.of(universe, new double[]{0.0, 0.3, 0.7, 1.0}, QuantizedFuzzySet.Precision.BYTE);
+        QuantizedFuzzySet second = QuantizedFuzzySet.of(universe, new double[]{0.6, 0.5, 0.2, 1.0}, QuantizedFuzzySet.Precision.BYTE);
+        FuzzySet union = first.getUnionMax(second).toFuzzySet();
+        assertTrue(universe.contains(first.toFuzzySet()));
+        assertTrue(universe.contains(union));
+        assertEquals(QuantizedFuzzySet.of(FIRST, QuantizedFuzzySet.Precision.BYTE).getLevel(1), first.getLevel(1));
+        assertEquals(153, first.getUnionMax(second).getLevel(0));
+        assertEquals(1.0, union.getSet().get(4.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMembership() {
+        QuantizedFuzzySet.Precision.BYTE.quantize(1.5);
+    }
+
+    @Test
+    public void testRoundTripError() {
+        Random random = new Random(0);
+        double[] x = new double[1000];
+        double[] mu = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            mu[i] = random.nextDouble();
+        }
+        FuzzySet fuzzySet = new FuzzySet(x, mu);
+        for (QuantizedFuzzySet.Precision precision : QuantizedFuzzySet.Precision.values()) {
+            QuantizedFuzzySet quantized = QuantizedFuzzySet.of(fuzzySet, precision);
+            assertEquals(precision, quantized.getPrecision());
+            assertArrayEquals(mu, quantized.toFuzzySet().mu, 0.5 / precision.getScale());
+        }
+    }
+
+    @Test
+    public void testOperations() {
+        for (QuantizedFuzzySet.Precision precision : QuantizedFuzzySet.Precision.values()) {
+            QuantizedFuzzySet first = QuantizedFuzzySet.of(FIRST, precision);
+            QuantizedFuzzySet second = QuantizedFuzzySet.of(SECOND, precision);
+            double delta = 1.0 / precision.getScale() + 1e-12;
+            assertQuantized(FIRST.getUnionMax(SECOND), first.getUnionMax(second), delta);
+            assertQuantized(FIRST.getIntersectionMax(SECOND), first.getIntersectionMax(second), delta);
+            assertQuantized(FIRST.getUnionLim(SECOND), first.getUnionLim(second), delta);
+            assertQuantized(FIRST.getIntersectionLim(SECOND), first.getIntersectionLim(second), delta);
+            assertArrayEquals(new double[]{1.0, 0.7, 0.3, 0.0}, first.getAddition().toFuzzySet().mu, delta);
+        }
+    }
+
+    @Test
+    public void testMatchesDoubleOperations() {
+        Random random = new Random(1);
+        double[] x = new double[1000];
+        double[] shifted = new double[x.length];
+        double[] mu1 = new double[x.length];
+        double[] mu2 = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = i;
+            shifted[i] = i + 500;
+            mu1[i] = random.nextDouble();
+            mu2[i] = random.nextDouble();
+        }
+        for (QuantizedFuzzySet.Precision precision : QuantizedFuzzySet.Precision.values()) {
+            for (double[] keys : new double[][]{x, shifted}) {
+                QuantizedFuzzySet first = QuantizedFuzzySet.of(new FuzzySet(x, mu1), precision);
+                QuantizedFuzzySet second = QuantizedFuzzySet.of(new FuzzySet(keys, mu2), precision);
+                FuzzySet a = first.toFuzzySet();
+                FuzzySet b = second.toFuzzySet();
+                assertLevels(QuantizedFuzzySet.of(a.getUnionMax(b), precision), first.getUnionMax(second));
+                assertLevels(QuantizedFuzzySet.of(a.getIntersectionMax(b), precision), first.getIntersectionMax(second));
+                assertLevels(QuantizedFuzzySet.of(a.getUnionLim(b), precision), first.getUnionLim(second));
+                assertLevels(QuantizedFuzzySet.of(a.getIntersectionLim(b), precision), first.getIntersectionLim(second));
+                assertLevels(QuantizedFuzzySet.of(a.not().toFuzzySet(), precision), first.getAddition());
+            }
+        }
+    }
+
+    @Test
+    public void testLevelsAreExact() {
+        QuantizedFuzzySet first = QuantizedFuzzySet.of(FIRST, QuantizedFuzzySet.Precision.BYTE);
+        QuantizedFuzzySet second = QuantizedFuzzySet.of(SECOND, QuantizedFuzzySet.Precision.BYTE);
+        QuantizedFuzzySet result = first.getIntersectionLim(second);
+        assertEquals(3, result.size());
+        assertEquals(2.0, result.getKey(0), 0.0);
+        assertEquals(0, result.getLevel(0));
+        assertEquals(Math.max(0, 179 + 128 - 255), result.getLevel(1));
+        assertEquals(51, result.getLevel(2));
+        assertEquals(255, first.getAddition().getLevel(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentPrecisions() {
+        QuantizedFuzzySet.of(FIRST, QuantizedFuzzySet.Precision.BYTE)
+            .getUnionMax(QuantizedFuzzySet.of(SECOND, QuantizedFuzzySet.Precision.SHORT));
+    }
+
+    private static void assertLevels(QuantizedFuzzySet expected, QuantizedFuzzySet actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.getKey(i), actual.getKey(i), 0.0);
+            assertEquals(expected.getLevel(i), actual.getLevel(i));
+        }
+    }
+
+    private static void assertQuantized(FuzzySet expected, QuantizedFuzzySet result, double delta) {
+        FuzzySet actual = result.toFuzzySet();
+        assertArrayEquals(expected.x, actual.x, 0.0);
+        assertArrayEquals(expected.mu, actual.mu, delta);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SparseFuzzySetTest {
+
+    private static final double[] UNIVERSE = {1, 2, 3, 4, 5, 6};
+    private static final FuzzySet FIRST = new FuzzySet(UNIVERSE, new double[]{0.0, 0.4, 0.0, 0.9, 0.0, 0.2});
+    private static final FuzzySet SECOND = new FuzzySet(UNIVERSE, new double[]{0.5, 0.0, 0.0, 0.3, 0.7, 0.0});
+
+    @Test
+    public void testSupportOnly() {
+        SparseFuzzySet sparse = SparseFuzzySet.of(FIRST);
+        assertEquals(3, sparse.size());
+        assertArrayEquals(new double[]{2, 4, 6}, sparse.getSupport(), 0.0);
+        assertEquals(0.9, sparse.getMembership(4.0), 0.0);
+        assertEquals(0.0, sparse.getMembership(3.0), 0.0);
+        assertEquals(0.0, sparse.getMembership(100.0), 0.0);
+        assertEquals(FIRST.getHeight(), sparse.getHeight(), 0.0);
+        assertEquals(FIRST.getDefuzzificationCOG(), sparse.getDefuzzificationCOG(), 1e-12);
+        assertArrayEquals(new double[]{2, 4}, sparse.getAlphaCut(0.4), 0.0);
+        assertEquals(FIRST, sparse.toFuzzySet(UNIVERSE));
+        assertEquals(sparse, SparseFuzzySet.of(new double[]{6, 4, 2, 3}, new double[]{0.2, 0.9, 0.4, 0.0}));
+    }
+
+    @Test
+    public void testSharedUniverse() {
+        Universe universe = Universe.of(UNIVERSE);
+        FuzzySet first = SparseFuzzySet.of(FIRST).toFuzzySet(universe);
+        FuzzySet second = SparseFuzzySet.of(SECOND).toFuzzySet(universe);
+        assertEquals(FIRST, first);
+        assertSame(universe, first.getUniverse());
+        assertTrue(first.hasSameUniverse(second));
+    }
+
+    @Test
+    public void testUnionAndIntersection() {
+        SparseFuzzySet first = SparseFuzzySet.of(FIRST);
+        SparseFuzzySet second = SparseFuzzySet.of(SECOND);
+        assertEquals(FIRST.getUnionMax(SECOND), first.getUnion(second, TConorm.maximum()).toFuzzySet(UNIVERSE));
+        assertEquals(FIRST.getUnion(SECOND, TConorm.probabilisticSum()),
+            first.getUnion(second, TConorm.probabilisticSum()).toFuzzySet(UNIVERSE));
+        assertEquals(FIRST.getIntersectionMax(SECOND), first.getIntersection(second, TNorm.minimum()).toFuzzySet(UNIVERSE));
+        assertEquals(1, first.getIntersection(second, TNorm.lukasiewicz()).size());
+        assertEquals(FIRST.deduct(SECOND, TNorm.product()), first.deduct(second, TNorm.product()).toFuzzySet(UNIVERSE));
+    }
+
+    @Test
+    public void testDisjointSupports() {
+        SparseFuzzySet first = SparseFuzzySet.of(new double[]{1, 2}, new double[]{0.5, 1.0});
+        SparseFuzzySet second = SparseFuzzySet.of(new double[]{10, 20}, new double[]{0.25, 1.0});
+        assertEquals(2.75, first.getHammingDistance(second), 1e-12);
+        assertEquals(Math.sqrt(0.25 + 1 + 0.0625 + 1), first.getEuclideanDistance(second), 1e-12);
+        assertEquals(4, first.getUnion(second, TConorm.maximum()).size());
+        assertEquals(0, first.getIntersection(second, TNorm.minimum()).size());
+    }
+
+    @Test
+    public void testDistancesMatchDenseSets() {
+        Random random = new Random(0);
+        double[] universe = new double[10_000];
+        double[] a = new double[universe.length];
+        double[] b = new double[universe.length];
+        for (int i = 0; i < universe.length; i++) {
+            universe[i] = i;
+            a[i] = random.nextInt(100) == 0 ? random.nextDouble() : 0.0;
+            b[i] = random.nextInt(100) == 0 ? random.nextDouble() : 0.0;
+        }
+        FuzzySet first = new FuzzySet(universe, a);
+        FuzzySet second = new FuzzySet(universe, b);
+        SparseFuzzySet sparseFirst = SparseFuzzySet.of(first);
+        SparseFuzzySet sparseSecond = SparseFuzzySet.of(second);
+        assertEquals(first.getHammingDistance(second), sparseFirst.getHammingDistance(sparseSecond), 1e-9);
+        assertEquals(first.getEuclideanDistance(second), sparseFirst.getEuclideanDistance(sparseSecond), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroAlphaCut() {
+        SparseFuzzySet.of(FIRST).getAlphaCut(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingFuzzySetBuilderTest {
+
+    @Test
+    public void testHistogram() {
+        StreamingFuzzySetBuilder builder = StreamingFuzzySetBuilder.histogram(0, 4, 4)
+            .addAll(0.5, 1.5, 1.2, 1.9, 2.5, 2.1, 3.7, -10, 10);
+        FuzzySet snapshot = builder.snapshot();
+        assertArrayEquals(new double[]{0.5, 1.5, 2.5, 3.5}, snapshot.x, 0.0);
+        assertArrayEquals(new double[]{2 / 3.0, 1.0, 2 / 3.0, 2 / 3.0}, snapshot.mu, 1e-15);
+        assertEquals(9, builder.getCount());
+
+        builder.add(3.2).add(3.3);
+        FuzzySet next = builder.snapshot();
+        assertTrue(snapshot.hasSameUniverse(next));
+        assertArrayEquals(new double[]{0.5, 0.75, 0.5, 1.0}, next.mu, 1e-15);
+        assertArrayEquals(new double[]{2 / 3.0, 1.0, 2 / 3.0, 2 / 3.0}, snapshot.mu, 1e-15);
+    }
+
+    @Test
+    public void testSlidingWindow() {
+        StreamingFuzzySetBuilder builder = StreamingFuzzySetBuilder.histogram(0, 2, 2).slidingWindow(3);
+        builder.addAll(0.5, 0.5, 0.5, 1.5);
+        assertArrayEquals(new double[]{1.0, 0.5}, builder.snapshot().mu, 0.0);
+        builder.addAll(1.5, 1.5);
+        assertArrayEquals(new double[]{0.0, 1.0}, builder.snapshot().mu, 0.0);
+    }
+
+    @Test
+    public void testDecay() {
+        StreamingFuzzySetBuilder builder = StreamingFuzzySetBuilder.histogram(0, 2, 2).decay(1);
+        builder.addAll(0.5, 1.5);
+        assertArrayEquals(new double[]{0.5, 1.0}, builder.snapshot().mu, 1e-15);
+        builder.add(1.5);
+        assertArrayEquals(new double[]{0.25 / 1.5, 1.0}, builder.snapshot().mu, 1e-15);
+        for (int i = 0; i < 2000; i++) {
+            builder.add(0.5);
+        }
+        FuzzySet snapshot = builder.snapshot();
+        assertEquals(1.0, snapshot.mu[0], 0.0);
+        assertEquals(0.0, snapshot.mu[1], 1e-300);
+    }
+
+    @Test
+    public void testSketch() {
+        Random random = new Random(3);
+        StreamingFuzzySetBuilder builder = StreamingFuzzySetBuilder.sketch(32);
+        for (int i = 0; i < 100_000; i++) {
+            builder.add(random.nextGaussian());
+        }
+        FuzzySet snapshot = builder.snapshot();
+        assertEquals(32, snapshot.size());
+        assertEquals(1.0, snapshot.getHeight(), 0.0);
+        assertEquals(0.0, snapshot.getDefuzzificationMOM(), 0.5);
+        assertEquals(0.0, snapshot.getDefuzzificationCOG(), 0.5);
+    }
+
+    @Test
+    public void testSketchKeepsExactSamples() {
+        FuzzySet snapshot = StreamingFuzzySetBuilder.sketch(4).addAll(1, 2, 2, 3, 1, 2).snapshot();
+        assertArrayEquals(new double[]{1, 2, 3}, snapshot.x, 0.0);
+        assertArrayEquals(new double[]{2 / 3.0, 1.0, 1 / 3.0}, snapshot.mu, 1e-15);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWindowAfterSamples() {
+        StreamingFuzzySetBuilder.histogram(0, 1, 2).add(0.5).decay(10);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSketchSlidingWindow() {
+        StreamingFuzzySetBuilder.sketch(8).slidingWindow(10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEmptySnapshot() {
+        StreamingFuzzySetBuilder.sketch(8).snapshot();
+    }
+}
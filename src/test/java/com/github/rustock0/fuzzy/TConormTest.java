@@ -0,0 +1,65 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TConormTest {
+
+    private static final double[] A = {0.0, 0.3, 0.5, 0.8, 1.0};
+    private static final double[] B = {0.7, 0.6, 0.5, 0.0, 1.0};
+
+    @Test
+    public void testMaximum() {
+        assertEquals(0.6, TConorm.maximum().apply(0.3, 0.6), 0.0);
+        assertBulk(TConorm.maximum());
+    }
+
+    @Test
+    public void testProbabilisticSum() {
+        assertEquals(0.72, TConorm.probabilisticSum().apply(0.3, 0.6), 1e-12);
+        assertBulk(TConorm.probabilisticSum());
+    }
+
+    @Test
+    public void testLukasiewicz() {
+        assertEquals(0.9, TConorm.lukasiewicz().apply(0.3, 0.6), 1e-12);
+        assertEquals(1.0, TConorm.lukasiewicz().apply(0.8, 0.6), 0.0);
+        assertBulk(TConorm.lukasiewicz());
+    }
+
+    @Test
+    public void testHamacher() {
+        assertEquals(0.72, TConorm.hamacher(1).apply(0.3, 0.6), 1e-12);
+        assertEquals(1.0, TConorm.hamacher(0).apply(1.0, 1.0), 0.0);
+        TNorm norm = TNorm.hamacher(3);
+        assertEquals(1 - norm.apply(0.7, 0.4), TConorm.hamacher(3).apply(0.3, 0.6), 1e-12);
+        assertBulk(TConorm.hamacher(0.5));
+    }
+
+    @Test
+    public void testYager() {
+        assertEquals(TConorm.lukasiewicz().apply(0.3, 0.6), TConorm.yager(1).apply(0.3, 0.6), 1e-12);
+        assertEquals(Math.sqrt(0.3 * 0.3 + 0.6 * 0.6), TConorm.yager(2).apply(0.3, 0.6), 1e-12);
+        assertEquals(TConorm.maximum(), TConorm.yager(Double.POSITIVE_INFINITY));
+        assertBulk(TConorm.yager(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testYagerInvalid() {
+        TConorm.yager(Double.NaN);
+    }
+
+    private void assertBulk(TConorm conorm) {
+        double[] expected = new double[A.length];
+        for (int i = 0; i < A.length; i++) {
+            expected[i] = conorm.apply(A[i], B[i]);
+            assertEquals(conorm.apply(A[i], B[i]), conorm.apply(B[i], A[i]), 1e-12);
+            assertEquals(A[i], conorm.apply(A[i], 0.0), 1e-12);
+        }
+        double[] result = new double[A.length];
+        conorm.apply(A, B, result);
+        assertArrayEquals(expected, result, 0.0);
+    }
+}
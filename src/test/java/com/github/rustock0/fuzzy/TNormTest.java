@@ -0,0 +1,70 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TNormTest {
+
+    private static final double[] A = {0.0, 0.3, 0.5, 0.8, 1.0};
+    private static final double[] B = {0.7, 0.6, 0.5, 1.0, 1.0};
+
+    @Test
+    public void testMinimum() {
+        assertEquals(0.3, TNorm.minimum().apply(0.3, 0.6), 0.0);
+        assertBulk(TNorm.minimum());
+    }
+
+    @Test
+    public void testProduct() {
+        assertEquals(0.18, TNorm.product().apply(0.3, 0.6), 1e-12);
+        assertBulk(TNorm.product());
+    }
+
+    @Test
+    public void testLukasiewicz() {
+        assertEquals(0.0, TNorm.lukasiewicz().apply(0.3, 0.6), 1e-12);
+        assertEquals(0.4, TNorm.lukasiewicz().apply(0.8, 0.6), 1e-12);
+        assertBulk(TNorm.lukasiewicz());
+    }
+
+    @Test
+    public void testHamacher() {
+        assertEquals(0.18 / (0.3 + 0.6 - 0.18), TNorm.hamacher(0).apply(0.3, 0.6), 1e-12);
+        assertEquals(0.0, TNorm.hamacher(0).apply(0.0, 0.0), 0.0);
+        assertEquals(0.18, TNorm.hamacher(1).apply(0.3, 0.6), 1e-12);
+        assertEquals(0.8, TNorm.hamacher(5).apply(0.8, 1.0), 1e-12);
+        assertBulk(TNorm.hamacher(0.5));
+    }
+
+    @Test
+    public void testYager() {
+        assertEquals(TNorm.lukasiewicz().apply(0.8, 0.6), TNorm.yager(1).apply(0.8, 0.6), 1e-12);
+        assertEquals(1 - Math.sqrt(0.2 * 0.2 + 0.4 * 0.4), TNorm.yager(2).apply(0.8, 0.6), 1e-12);
+        assertEquals(TNorm.minimum(), TNorm.yager(Double.POSITIVE_INFINITY));
+        assertBulk(TNorm.yager(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testYagerInvalid() {
+        TNorm.yager(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHamacherInvalid() {
+        TNorm.hamacher(-1);
+    }
+
+    private void assertBulk(TNorm norm) {
+        double[] expected = new double[A.length];
+        for (int i = 0; i < A.length; i++) {
+            expected[i] = norm.apply(A[i], B[i]);
+            assertEquals(norm.apply(A[i], B[i]), norm.apply(B[i], A[i]), 1e-12);
+            assertEquals(A[i], norm.apply(A[i], 1.0), 1e-12);
+        }
+        double[] result = new double[A.length];
+        norm.apply(A, B, result);
+        assertArrayEquals(expected, result, 0.0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.rustock0.fuzzy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class UniverseTest {
+
+    private static final Universe UNIVERSE = Universe.of(3, 1, 2, 4);
+
+    @Test
+    public void testKeys() {
+        assertEquals(4, UNIVERSE.size());
+        assertArrayEquals(new double[]{1, 2, 3, 4}, UNIVERSE.getKeys(), 0.0);
+        assertEquals(3.0, UNIVERSE.getKey(2), 0.0);
+        assertEquals(1, UNIVERSE.indexOf(2.0));
+        assertTrue(UNIVERSE.indexOf(2.5) < 0);
+        assertEquals(Universe.of(1, 2, 3, 4), UNIVERSE);
+        assertArrayEquals(new double[]{0, 0.25, 0.5, 0.75, 1}, Universe.uniform(0, 1, 5).getKeys(), 0.0);
+    }
+
+    @Test
+    public void testSharedUniverse() {
+        FuzzySet first = UNIVERSE.fuzzySet(0.1, 0.5, 1.0, 0.3);
+        FuzzySet second = UNIVERSE.lazyFuzzySet(0.4, 0.2, 0.6, 0.3);
+        assertSame(UNIVERSE, first.getUniverse());
+        assertTrue(first.hasSameUniverse(second));
+        assertTrue(UNIVERSE.contains(first));
+        assertEquals(new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.1, 0.5, 1.0, 0.3}), first);
+
+        FuzzySet union = first.getUnionMax(second);
+        assertTrue(UNIVERSE.contains(union));
+        assertEquals(UNIVERSE, union.getUniverse());
+        assertEquals(new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.4, 0.5, 1.0, 0.3}), union);
+        assertTrue(UNIVERSE.contains(first.getIntersection(second, TNorm.product())));
+
+        FuzzySet copy = new FuzzySet(new double[]{1, 2, 3, 4}, new double[]{0.4, 0.2, 0.6, 0.3});
+        assertFalse(first.hasSameUniverse(copy));
+        assertEquals(UNIVERSE, copy.getUniverse());
+        assertEquals(union, first.getUnionMax(copy));
+    }
+
+    @Test
+    public void testDiscretize() {
+        Universe universe = Universe.uniform(0, 4, 9);
+        FuzzySet triangle = MembershipFunction.triangle(0, 2, 4).discretize(universe);
+        FuzzySet trapezoid = MembershipFunction.trapezoid(0, 1, 3, 4).discretize(universe);
+        assertTrue(triangle.hasSameUniverse(trapezoid));
+        assertEquals(MembershipFunction.triangle(0, 2, 4).discretize(0, 4, 9), triangle);
+        assertEquals(1.0, triangle.getSet().get(2.0), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateKeys() {
+        Universe.of(1, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongSize() {
+        UNIVERSE.fuzzySet(0.1, 0.2);
+    }
+}